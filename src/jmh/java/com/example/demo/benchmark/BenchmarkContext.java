@@ -0,0 +1,68 @@
+package com.example.demo.benchmark;
+
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.DemoApplication;
+
+/**
+ * 벤치마크마다 한 번씩 메모리 H2 위에 애플리케이션을 띄우고 데이터를 채워 넣습니다.
+ * (application-benchmark.yml 참고)
+ * 
+ * 쓰기 벤치마크는 rollback(...) 안에서 실행해서 측정 중에 데이터 크기가 변하지 않도록 합니다.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+	
+	@Param("100")
+	public int members;
+	
+	@Param("10000")
+	public int articles;
+	
+	ConfigurableApplicationContext context;
+	TransactionTemplate transactionTemplate;
+	BenchmarkData data;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(DemoApplication.class)
+				.profiles("benchmark")
+				.run();
+		transactionTemplate = context.getBean(TransactionTemplate.class);
+		data = BenchmarkData.seed(context, members, articles);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+	
+	<T> T bean(Class<T> type) {
+		return context.getBean(type);
+	}
+	
+	<T> T rollback(Supplier<T> action) {
+		return transactionTemplate.execute(status -> {
+			status.setRollbackOnly();
+			return action.get();
+		});
+	}
+	
+	String randomMemberId() {
+		return data.randomMemberId();
+	}
+	
+	Long randomArticleId() {
+		return data.randomArticleId();
+	}
+}
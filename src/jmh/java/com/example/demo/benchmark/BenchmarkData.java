@@ -0,0 +1,72 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.context.ApplicationContext;
+
+import com.example.demo.model.Article;
+import com.example.demo.model.Member;
+import com.example.demo.service.ArticleService;
+import com.example.demo.service.MemberService;
+
+/**
+ * 벤치마크와 부하 테스트가 함께 쓰는 데이터입니다.
+ * 회원과 게시글을 서비스의 일괄 등록 메소드로 채워 넣고, 생성된 아이디를 기억합니다.
+ */
+class BenchmarkData {
+	
+	private final String[] memberIds;
+	private final long[] articleIds;
+	
+	private BenchmarkData(String[] memberIds, long[] articleIds) {
+		this.memberIds = memberIds;
+		this.articleIds = articleIds;
+	}
+	
+	static BenchmarkData seed(ApplicationContext context, int members, int articles) {
+		String[] memberIds = seedMembers(context.getBean(MemberService.class), members);
+		long[] articleIds = seedArticles(context.getBean(ArticleService.class), memberIds, articles);
+		return new BenchmarkData(memberIds, articleIds);
+	}
+	
+	String randomMemberId() {
+		return memberIds[ThreadLocalRandom.current().nextInt(memberIds.length)];
+	}
+	
+	Long randomArticleId() {
+		return articleIds[ThreadLocalRandom.current().nextInt(articleIds.length)];
+	}
+	
+	private static String[] seedMembers(MemberService memberService, int members) {
+		List<Member> seeds = new ArrayList<>();
+		for (int i = 0; i < members; i++) {
+			Member member = new Member();
+			member.setId("bench" + i);
+			member.setPassword("password" + i);
+			member.setNickname("회원" + i);
+			member.setAge((long) (20 + i % 40));
+			seeds.add(member);
+		}
+		memberService.createMembers(seeds);
+		return seeds.stream().map(Member::getId).toArray(String[]::new);
+	}
+	
+	private static long[] seedArticles(ArticleService articleService, String[] memberIds, int articles) {
+		List<Long> ids = new ArrayList<>();
+		List<Article> chunk = new ArrayList<>();
+		for (int i = 0; i < articles; i++) {
+			Article article = new Article();
+			article.setTitle("벤치마크 게시글 " + i);
+			article.setContent("스프링 부트와 마이바티스로 만든 게시판의 " + i + "번째 게시글 내용입니다.");
+			article.setMemberId(memberIds[i % memberIds.length]);
+			chunk.add(article);
+			if (chunk.size() == ArticleService.MAX_BATCH_SIZE || i == articles - 1) {
+				ids.addAll(articleService.createArticles(chunk));
+				chunk = new ArrayList<>();
+			}
+		}
+		return ids.stream().mapToLong(Long::longValue).toArray();
+	}
+}
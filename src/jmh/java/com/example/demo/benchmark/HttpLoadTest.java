@@ -0,0 +1,302 @@
+package com.example.demo.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.DemoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 애플리케이션을 메모리 H2 위에 띄우고, REST API 에 정해진 비율로 요청을 보내는 부하 테스트입니다.
+ * 
+ * 요청은 이전 요청의 응답을 기다리지 않고 --rate 에 맞춰 예약되며(open loop),
+ * 지연 시간은 예약된 시각부터 응답을 받을 때까지로 잽니다.
+ * 그래서 서버가 밀려서 클라이언트가 대기한 시간도 지연 시간에 포함됩니다. (coordinated omission 보정)
+ * 
+ * mvn -Pbenchmark test-compile exec:exec@loadtest -Dloadtest.args="--rate=500 --duration=60"
+ * 
+ * 옵션 (괄호 안은 기본값)
+ * --rate 초당 요청 수 (200), --duration 측정 시간(초) (30), --warmup 워밍업 시간(초) (10),
+ * --clients 동시에 요청을 보내는 클라이언트 수 (32), --members / --articles 미리 넣어둘 데이터 수 (100 / 10000),
+ * --mix 요청 비율 (list:50,detail:30,create:10,update:5,delete:5),
+ * --report 결과 JSON 경로 (target/loadtest-report.json)
+ * 
+ * 이름에 점이 들어간 옵션은 애플리케이션 설정으로 넘깁니다. (예: --spring.threads.virtual.enabled=true)
+ */
+public class HttpLoadTest {
+	
+	private static final String[] ENDPOINTS = {"list", "detail", "create", "update", "delete"};
+	
+	private final Map<String, String> options;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+	private final Map<String, LongAdder> errors = new HashMap<>();
+	private final Map<String, LongAdder> skipped = new HashMap<>();
+	private final Queue<Long> createdArticleIds = new ConcurrentLinkedQueue<>();
+	
+	private BenchmarkData data;
+	private String baseUrl;
+	private volatile long measureStartNanos;
+	
+	HttpLoadTest(Map<String, String> options) {
+		this.options = options;
+		for (String endpoint : ENDPOINTS) {
+			histograms.put(endpoint, new ConcurrentHistogram(3));
+			errors.put(endpoint, new LongAdder());
+			skipped.put(endpoint, new LongAdder());
+		}
+	}
+	
+	public static void main(String[] args) throws Exception {
+		new HttpLoadTest(parseOptions(args)).run();
+	}
+	
+	void run() throws Exception {
+		List<String> applicationArgs = new ArrayList<>(List.of("--spring.main.web-application-type=servlet", "--server.port=0"));
+		options.forEach((name, value) -> {
+			if (name.contains(".")) {
+				applicationArgs.add("--" + name + "=" + value);
+			}
+		});
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+				.profiles("benchmark")
+				.run(applicationArgs.toArray(String[]::new));
+		try {
+			data = BenchmarkData.seed(context, intOption("members", 100), intOption("articles", 10000));
+			baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+			Map<String, Object> report = drive();
+			File reportFile = new File(options.getOrDefault("report", "target/loadtest-report.json"));
+			reportFile.getAbsoluteFile().getParentFile().mkdirs();
+			objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+			printSummary();
+			System.out.println("Load test report is saved to " + reportFile.getAbsolutePath());
+		} finally {
+			context.close();
+		}
+	}
+	
+	private Map<String, Object> drive() throws InterruptedException {
+		int rate = intOption("rate", 200);
+		int clients = intOption("clients", 32);
+		int warmupSeconds = intOption("warmup", 10);
+		int durationSeconds = intOption("duration", 30);
+		LocalDateTime startedAt = LocalDateTime.now();
+		String[] mix = parseMix(options.getOrDefault("mix", "list:50,detail:30,create:10,update:5,delete:5"));
+		
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+		long startNanos = System.nanoTime();
+		measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+		long endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+		for (long i = 0; ; i++) {
+			long intendedNanos = startNanos + i * intervalNanos;
+			if (intendedNanos >= endNanos) {
+				break;
+			}
+			long waitNanos = intendedNanos - System.nanoTime();
+			if (waitNanos > 0) {
+				LockSupport.parkNanos(waitNanos);
+			}
+			String endpoint = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+			executor.execute(() -> call(endpoint, intendedNanos));
+		}
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		
+		Map<String, Object> config = new LinkedHashMap<>();
+		config.put("rate", rate);
+		config.put("clients", clients);
+		config.put("warmupSeconds", warmupSeconds);
+		config.put("durationSeconds", durationSeconds);
+		config.put("mix", options.getOrDefault("mix", "list:50,detail:30,create:10,update:5,delete:5"));
+		config.put("members", intOption("members", 100));
+		config.put("articles", intOption("articles", 10000));
+		config.put("java", Runtime.version().toString());
+		options.forEach((name, value) -> {
+			if (name.contains(".")) {
+				config.put(name, value);
+			}
+		});
+		
+		Map<String, Object> endpoints = new LinkedHashMap<>();
+		Histogram total = new Histogram(3);
+		histograms.forEach((endpoint, histogram) -> {
+			endpoints.put(endpoint, summarize(histogram, errors.get(endpoint).sum(), skipped.get(endpoint).sum(), durationSeconds));
+			total.add(histogram);
+		});
+		long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+		long totalSkipped = skipped.values().stream().mapToLong(LongAdder::sum).sum();
+		
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("startedAt", startedAt.toString());
+		report.put("config", config);
+		report.put("total", summarize(total, totalErrors, totalSkipped, durationSeconds));
+		report.put("endpoints", endpoints);
+		return report;
+	}
+	
+	private void call(String endpoint, long intendedNanos) {
+		try {
+			HttpRequest request = request(endpoint);
+			if (request == null) {
+				if (intendedNanos >= measureStartNanos) {
+					skipped.get(endpoint).increment();
+				}
+				return;
+			}
+			HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() / 100 != 2) {
+				countError(endpoint, intendedNanos);
+			} else if (endpoint.equals("create")) {
+				createdArticleIds.add(objectMapper.readTree(response.body()).get("articleId").asLong());
+			}
+		} catch (IOException e) {
+			countError(endpoint, intendedNanos);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		if (intendedNanos >= measureStartNanos) {
+			histograms.get(endpoint).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos));
+		}
+	}
+	
+	private HttpRequest request(String endpoint) throws IOException {
+		switch (endpoint) {
+		case "list":
+			return get("/api/v1/articles?size=20");
+		case "detail":
+			return get("/api/v1/articles/" + data.randomArticleId());
+		case "create":
+			return send("POST", "/api/v1/articles", Map.of(
+					"title", "load test title",
+					"content", "load test content",
+					"memberId", data.randomMemberId()));
+		case "update":
+			return send("PATCH", "/api/v1/articles/" + data.randomArticleId(), Map.of(
+					"title", "load test title",
+					"content", "load test content"));
+		case "delete":
+			// 미리 넣어둔 게시글을 지우면 detail 요청이 404 가 되므로, 부하 테스트 중에 만든 게시글만 지웁니다.
+			Long articleId = createdArticleIds.poll();
+			return articleId == null ? null : HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/articles/" + articleId))
+					.DELETE()
+					.build();
+		default:
+			throw new IllegalArgumentException("알 수 없는 요청입니다: " + endpoint);
+		}
+	}
+	
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+	}
+	
+	private HttpRequest send(String method, String path, Map<String, String> body) throws IOException {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Content-Type", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+				.build();
+	}
+	
+	private void countError(String endpoint, long intendedNanos) {
+		if (intendedNanos >= measureStartNanos) {
+			errors.get(endpoint).increment();
+		}
+	}
+	
+	private Map<String, Object> summarize(Histogram histogram, long errorCount, long skippedCount, int durationSeconds) {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("count", histogram.getTotalCount());
+		summary.put("errors", errorCount);
+		summary.put("skipped", skippedCount);
+		summary.put("throughput", (double) histogram.getTotalCount() / durationSeconds);
+		summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+		summary.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+		summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+		summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+		summary.put("maxMs", millis(histogram.getMaxValue()));
+		return summary;
+	}
+	
+	private void printSummary() {
+		System.out.printf("%-8s %10s %8s %10s %10s %10s %10s%n", "endpoint", "count", "errors", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+		histograms.forEach((endpoint, h) -> System.out.printf("%-8s %10d %8d %10.2f %10.2f %10.2f %10.2f%n",
+				endpoint,
+				h.getTotalCount(),
+				errors.get(endpoint).sum(),
+				millis(h.getValueAtPercentile(50)),
+				millis(h.getValueAtPercentile(99)),
+				millis(h.getValueAtPercentile(99.9)),
+				millis(h.getMaxValue())));
+	}
+	
+	private int intOption(String name, int defaultValue) {
+		return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+	}
+	
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+	
+	/**
+	 * "list:50,detail:30" 같은 비율을 가중치만큼 반복한 배열로 바꿉니다. 배열에서 무작위로 고르면 비율대로 요청이 섞입니다.
+	 */
+	private static String[] parseMix(String mix) {
+		List<String> weighted = new ArrayList<>();
+		for (String entry : mix.split(",")) {
+			String[] pair = entry.trim().split(":");
+			if (!Arrays.asList(ENDPOINTS).contains(pair[0])) {
+				throw new IllegalArgumentException("알 수 없는 요청입니다: " + pair[0]);
+			}
+			weighted.addAll(Collections.nCopies(Integer.parseInt(pair[1]), pair[0]));
+		}
+		return weighted.toArray(String[]::new);
+	}
+	
+	/**
+	 * exec 플러그인은 -Dloadtest.args 를 인자 하나로 넘기므로 공백으로 다시 나눕니다.
+	 */
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			for (String token : arg.trim().split("\\s+")) {
+				if (token.startsWith("--") && token.contains("=")) {
+					options.put(token.substring(2, token.indexOf('=')), token.substring(token.indexOf('=') + 1));
+				} else if (!token.isEmpty()) {
+					throw new IllegalArgumentException("옵션은 --이름=값 형식이어야 합니다: " + token);
+				}
+			}
+		}
+		return options;
+	}
+}
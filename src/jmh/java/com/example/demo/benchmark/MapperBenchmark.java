@@ -0,0 +1,74 @@
+package com.example.demo.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.example.demo.mapper.MemberMapper;
+import com.example.demo.model.Article;
+import com.example.demo.model.Member;
+
+/**
+ * 매퍼를 직접 호출해서 SQL 실행과 결과 매핑 비용을 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+	
+	ArticleMapper articleMapper;
+	MemberMapper memberMapper;
+	
+	@Setup
+	public void setUp(BenchmarkContext context) {
+		articleMapper = context.bean(ArticleMapper.class);
+		memberMapper = context.bean(MemberMapper.class);
+	}
+	
+	@Benchmark
+	public List<Article> articleFindAll() {
+		return articleMapper.findAll();
+	}
+	
+	@Benchmark
+	public Optional<Article> articleFindById(BenchmarkContext context) {
+		return articleMapper.findById(context.randomArticleId());
+	}
+	
+	@Benchmark
+	public List<Article> articleFindByMemberId(BenchmarkContext context) {
+		return articleMapper.findByMemberId(context.randomMemberId());
+	}
+	
+	@Benchmark
+	public Long articleSave(BenchmarkContext context) {
+		Article article = new Article();
+		article.setTitle("benchmark title");
+		article.setContent("benchmark content");
+		article.setCreatedAt(LocalDateTime.now());
+		article.setUpdatedAt(LocalDateTime.now());
+		article.setMemberId(context.randomMemberId());
+		return context.rollback(() -> articleMapper.save(article));
+	}
+	
+	@Benchmark
+	public Optional<Member> memberFindById(BenchmarkContext context) {
+		return memberMapper.findById(context.randomMemberId());
+	}
+}
@@ -0,0 +1,93 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.model.Article;
+import com.example.demo.model.ArticlePage;
+import com.example.demo.model.ArticleSearchResult;
+import com.example.demo.model.Member;
+import com.example.demo.service.ArticleService;
+import com.example.demo.service.MemberService;
+
+/**
+ * 서비스 메소드를 호출해서 트랜잭션, 검증, 캐시와 색인을 포함한 비용을 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+	
+	ArticleService articleService;
+	MemberService memberService;
+	
+	@Setup
+	public void setUp(BenchmarkContext context) {
+		articleService = context.bean(ArticleService.class);
+		memberService = context.bean(MemberService.class);
+	}
+	
+	@Benchmark
+	public List<Article> findArticles() {
+		return articleService.findArticles();
+	}
+	
+	@Benchmark
+	public ArticlePage findArticlePage(BenchmarkContext context) {
+		return articleService.findArticlePage(context.randomArticleId(), ArticleService.DEFAULT_PAGE_SIZE);
+	}
+	
+	@Benchmark
+	public Article findArticleById(BenchmarkContext context) {
+		return articleService.findArticleById(context.randomArticleId());
+	}
+	
+	@Benchmark
+	public List<Article> findArticleByMemberId(BenchmarkContext context) {
+		return articleService.findArticleByMemberId(context.randomMemberId());
+	}
+	
+	@Benchmark
+	public ArticlePage findArticlePageByMemberId(BenchmarkContext context) {
+		return articleService.findArticlePageByMemberId(context.randomMemberId(), null, ArticleService.DEFAULT_PAGE_SIZE);
+	}
+	
+	@Benchmark
+	public ArticleSearchResult searchArticles() {
+		return articleService.searchArticles("마이바티스 게시판", 0, ArticleService.DEFAULT_PAGE_SIZE);
+	}
+	
+	@Benchmark
+	public Long createArticle(BenchmarkContext context) {
+		return context.rollback(() -> articleService.createArticle("benchmark title", "benchmark content", context.randomMemberId()));
+	}
+	
+	@Benchmark
+	public Long updateArticle(BenchmarkContext context) {
+		return context.rollback(() -> articleService.updateArticle(context.randomArticleId(), "benchmark title", "benchmark content"));
+	}
+	
+	@Benchmark
+	public Member findMember(BenchmarkContext context) {
+		return memberService.findMember(context.randomMemberId());
+	}
+	
+	@Benchmark
+	public List<Member> findMembers() {
+		return memberService.findMembers();
+	}
+}
@@ -0,0 +1,39 @@
+package com.example.demo.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.demo.monitoring.StatementTracker;
+
+/**
+ * 비동기 서비스 메소드(@Async("jdbcExecutor"))가 사용하는 JDBC 전용 실행기입니다.
+ * 
+ * 스레드 수는 커넥션 풀 크기와 같게 두어 커넥션을 기다리며 쉬는 스레드가 생기지 않도록 하고,
+ * 대기열이 가득 차면 기다리게 하지 않고 바로 TaskRejectedException 을 던집니다. (503 응답으로 변환됩니다.)
+ * 느린 쿼리가 있어도 이 실행기만 밀리고 Tomcat 스레드는 다른 요청을 계속 처리할 수 있습니다.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+	
+	@Bean
+	public ThreadPoolTaskExecutor jdbcExecutor(
+			@Value("${jdbc.executor.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+			@Value("${jdbc.executor.queue-capacity:100}") int queueCapacity,
+			StatementTracker statementTracker) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.setThreadNamePrefix("jdbc-");
+		executor.setTaskDecorator(statementTracker::propagate);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		return executor;
+	}
+}
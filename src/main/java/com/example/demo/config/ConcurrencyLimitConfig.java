@@ -0,0 +1,61 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.demo.controller.ConcurrencyLimitInterceptor;
+import com.example.demo.controller.ConcurrencyLimiter;
+import com.example.demo.controller.ConcurrencyLimiter.Group;
+import com.example.demo.controller.ConcurrencyLimiter.Settings;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 게시글/회원 API 앞에 요청 종류별 동시 처리 한도(ConcurrencyLimiter)를 둡니다.
+ * api.concurrency-limit.enabled=false 로 끌 수 있습니다.
+ * 
+ * 그룹별 설정은 api.concurrency-limit.{read|write|list}.{initial-limit|min-limit|max-limit|target-latency} 입니다.
+ * 한도는 /actuator/metrics/api.concurrency.limit 에서 확인할 수 있습니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.concurrency-limit.enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+	
+	private final ConcurrencyLimiter concurrencyLimiter;
+	
+	public ConcurrencyLimitConfig(Environment environment, MeterRegistry meterRegistry) {
+		Map<Group, Settings> settings = new EnumMap<>(Group.class);
+		settings.put(Group.READ, settings(environment, Group.READ, 20, 2, 200, Duration.ofMillis(100)));
+		settings.put(Group.WRITE, settings(environment, Group.WRITE, 10, 1, 100, Duration.ofMillis(300)));
+		settings.put(Group.LIST, settings(environment, Group.LIST, 10, 1, 100, Duration.ofMillis(300)));
+		this.concurrencyLimiter = new ConcurrencyLimiter(settings, meterRegistry);
+	}
+	
+	@Bean
+	public ConcurrencyLimiter concurrencyLimiter() {
+		return concurrencyLimiter;
+	}
+	
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimiter))
+				.addPathPatterns("/api/v1/articles/**", "/api/v1/members/**");
+	}
+	
+	private static Settings settings(Environment environment, Group group, int initialLimit, int minLimit, int maxLimit, Duration targetLatency) {
+		String prefix = "api.concurrency-limit." + group.name().toLowerCase() + ".";
+		return new Settings(
+				environment.getProperty(prefix + "initial-limit", Integer.class, initialLimit),
+				environment.getProperty(prefix + "min-limit", Integer.class, minLimit),
+				environment.getProperty(prefix + "max-limit", Integer.class, maxLimit),
+				environment.getProperty(prefix + "target-latency", Duration.class, targetLatency));
+	}
+}
@@ -0,0 +1,97 @@
+package com.example.demo.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 동시에 빌려줄 수 있는 커넥션 수를 Semaphore 로 제한하는 DataSource 입니다.
+ * 
+ * 가상 스레드는 요청마다 만들어지므로 스레드 수가 더 이상 동시 처리량을 제한하지 않습니다.
+ * 대신 커넥션 풀 앞에서 허가(permit)를 먼저 받도록 해서, 풀 크기를 넘는 요청은 DB 에 닿기 전에 공정한 순서로 기다리고
+ * 정해진 시간 안에 허가를 받지 못하면 SQLTransientConnectionException 으로 실패합니다.
+ * 허가는 커넥션이 close 될 때 돌려받습니다.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+	
+	private final Semaphore permits;
+	private final long timeoutNanos;
+	
+	public ConnectionLimitingDataSource(DataSource target, int maxConnections, Duration timeout) {
+		super(target);
+		this.permits = new Semaphore(maxConnections, true);
+		this.timeoutNanos = timeout.toNanos();
+	}
+	
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		try {
+			return limited(super.getConnection());
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+	
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		try {
+			return limited(super.getConnection(username, password));
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+	
+	/**
+	 * @return 지금 바로 빌려줄 수 있는 커넥션 수
+	 */
+	public int availablePermits() {
+		return permits.availablePermits();
+	}
+	
+	private void acquire() throws SQLException {
+		try {
+			if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+				throw new SQLTransientConnectionException("커넥션을 기다리는 시간이 초과되었습니다.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("커넥션을 기다리는 중에 중단되었습니다.", e);
+		}
+	}
+	
+	private Connection limited(Connection connection) {
+		AtomicBoolean released = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(
+				Connection.class.getClassLoader(),
+				new Class<?>[] {Connection.class},
+				(proxy, method, args) -> {
+					if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+						try {
+							connection.close();
+						} finally {
+							permits.release();
+						}
+						return null;
+					}
+					try {
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+}
@@ -0,0 +1,59 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 애플리케이션이 사용하는 dataSource 빈을 ConnectionLimitingDataSource 로 한 번만 감쌉니다.
+ * 
+ * 복제본을 사용하면 dataSource 빈은 LazyConnectionDataSourceProxy(ReadWriteRoutingDataSource) 이므로
+ * 그 사이에 끼워 넣어서, 주 DB 와 복제본 중 어디로 가든 같은 허가를 받도록 합니다.
+ * (커넥션이 실제로 필요할 때만 허가를 받도록 LazyConnectionDataSourceProxy 는 가장 바깥에 둡니다.)
+ * primaryDataSource 처럼 다른 이름의 DataSource 빈은 감싸지 않으므로 원래 타입 그대로 주입할 수 있습니다.
+ */
+public class ConnectionLimitingDataSourcePostProcessor implements BeanPostProcessor {
+	
+	static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+	
+	/**
+	 * HikariCP 의 기본 풀 크기입니다. 풀이 시작되기 전에는 maximumPoolSize 가 설정되지 않았을 수 있습니다.
+	 */
+	private static final int DEFAULT_POOL_SIZE = 10;
+	
+	private final int maxConnections;
+	private final Duration timeout;
+	
+	/**
+	 * @param maxConnections 동시에 빌려줄 커넥션 수 (0 이하면 주 DB 커넥션 풀 크기)
+	 * @param timeout 허가를 기다리는 최대 시간
+	 */
+	public ConnectionLimitingDataSourcePostProcessor(int maxConnections, Duration timeout) {
+		this.maxConnections = maxConnections;
+		this.timeout = timeout;
+	}
+	
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (!DATA_SOURCE_BEAN_NAME.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+			return bean;
+		}
+		if (bean instanceof LazyConnectionDataSourceProxy lazy && lazy.getTargetDataSource() instanceof ReadWriteRoutingDataSource routing) {
+			return new LazyConnectionDataSourceProxy(new ConnectionLimitingDataSource(routing, limitOf(routing.getPrimary()), timeout));
+		}
+		return new ConnectionLimitingDataSource(dataSource, limitOf(dataSource), timeout);
+	}
+	
+	private int limitOf(DataSource pool) {
+		int limit = maxConnections;
+		if (limit <= 0 && pool instanceof HikariDataSource hikari) {
+			limit = hikari.getMaximumPoolSize();
+		}
+		return limit > 0 ? limit : DEFAULT_POOL_SIZE;
+	}
+}
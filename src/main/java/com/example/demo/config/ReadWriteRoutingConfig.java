@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * datasource.replicas.urls 에 복제본 JDBC URL 을 쉼표로 나열하면 읽기/쓰기 DataSource 를 나눕니다.
+ * 설정하지 않으면 spring.datasource 하나만 사용합니다. (기존과 같습니다.)
+ * 
+ * 복제본은 주 DB 와 같은 계정으로 접속하며 풀 크기는 datasource.replicas.maximum-pool-size 로 정합니다.
+ * 복제본이 주 DB 를 늦게 따라오는 구성이라면 쓰기 직후 같은 데이터를 읽는 요청은 이전 값을 볼 수 있습니다.
+ * 쓰기 트랜잭션 안의 조회는 항상 주 DB 를 사용합니다.
+ * 목록 ETag 와 첫 페이지 스냅샷은 마지막 변경 뒤 datasource.replicas.max-lag(기본 1초)가 지난 뒤에만 버전을 붙입니다. (TableVersions#settled)
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replicas.urls")
+public class ReadWriteRoutingConfig {
+	
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+	
+	@Bean(destroyMethod = "close")
+	public ReplicaSelector replicaSelector(
+			DataSourceProperties properties,
+			MeterRegistry meterRegistry,
+			@Value("${datasource.replicas.urls}") List<String> urls,
+			@Value("${datasource.replicas.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+			@Value("${datasource.replicas.connection-timeout:1s}") Duration connectionTimeout) {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		for (int i = 0; i < urls.size(); i++) {
+			HikariDataSource replica = new HikariDataSource();
+			replica.setPoolName("replica-" + i);
+			replica.setDriverClassName(properties.determineDriverClassName());
+			replica.setJdbcUrl(urls.get(i).trim());
+			replica.setUsername(properties.determineUsername());
+			replica.setPassword(properties.determinePassword());
+			replica.setMaximumPoolSize(poolSize);
+			replica.setReadOnly(true);
+			replica.setConnectionTimeout(connectionTimeout.toMillis());
+			// 복제본이 내려가 있어도 애플리케이션은 시작하고, 상태 확인에서 제외되도록 합니다.
+			replica.setInitializationFailTimeout(-1);
+			replicas.put(replica.getPoolName(), replica);
+		}
+		return new ReplicaSelector(replicas, connectionTimeout, meterRegistry);
+	}
+	
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource, ReplicaSelector replicaSelector) {
+		return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaSelector));
+	}
+}
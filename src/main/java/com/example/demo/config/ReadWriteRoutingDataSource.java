@@ -0,0 +1,73 @@
+package com.example.demo.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.config.ReplicaSelector.Replica;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 복제본으로, 나머지는 주 DB(primary)로 보냅니다.
+ * 
+ * 트랜잭션 매니저는 readOnly 여부를 트랜잭션을 시작한 뒤에 설정하므로,
+ * 반드시 LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리를 실행할 때 커넥션을 얻도록 해야 합니다.
+ * 복제본에서 커넥션을 얻지 못하면 그 복제본을 제외하고 주 DB 로 대신 처리합니다.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+	
+	static final String PRIMARY = "primary";
+	
+	private final DataSource primary;
+	private final ReplicaSelector replicaSelector;
+	
+	public ReadWriteRoutingDataSource(DataSource primary, ReplicaSelector replicaSelector) {
+		this.primary = primary;
+		this.replicaSelector = replicaSelector;
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		replicaSelector.replicas().forEach(r -> targets.put(r.getKey(), r.getDataSource()));
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+	
+	/**
+	 * @return 주 DB
+	 */
+	public DataSource getPrimary() {
+		return primary;
+	}
+	
+	@Override
+	protected Object determineCurrentLookupKey() {
+		Replica replica = selectReplica();
+		return replica != null ? replica.getKey() : PRIMARY;
+	}
+	
+	@Override
+	public Connection getConnection() throws SQLException {
+		Replica replica = selectReplica();
+		if (replica == null) {
+			return primary.getConnection();
+		}
+		long startedAt = System.nanoTime();
+		try {
+			Connection connection = replica.getDataSource().getConnection();
+			replicaSelector.recordLatency(replica, System.nanoTime() - startedAt);
+			return connection;
+		} catch (SQLException | RuntimeException e) {
+			replicaSelector.markDown(replica, e);
+			return primary.getConnection();
+		}
+	}
+	
+	private Replica selectReplica() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? replicaSelector.select() : null;
+	}
+}
@@ -0,0 +1,160 @@
+package com.example.demo.config;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 읽기 전용 트랜잭션이 사용할 복제본(replica)을 고릅니다.
+ * 
+ * 복제본마다 커넥션을 얻는 데 걸린 시간과 상태 확인 쿼리의 응답 시간을 지수 이동 평균(EWMA)으로 기록하고,
+ * 정상인 복제본 중 하나를 응답 시간에 반비례하는 확률로 고릅니다.
+ * 항상 가장 빠른 복제본만 고르면 그 복제본에 요청이 몰려 금방 느려지므로, 느린 복제본에도 그만큼 적게 보냅니다.
+ * (0.1ms 보다 빠른 응답 시간은 같은 값으로 취급해서 한 복제본의 확률이 지나치게 커지지 않도록 합니다.)
+ * 
+ * 커넥션을 얻지 못한 복제본은 바로 제외하고, datasource.replicas.health-check-interval 마다
+ * Connection.isValid 로 모든 복제본을 확인해서 다시 응답하는 복제본을 되살립니다.
+ */
+@Slf4j
+public class ReplicaSelector implements AutoCloseable {
+	
+	private static final double EWMA_WEIGHT = 0.2;
+	private static final double MIN_LATENCY_NANOS = 100_000;
+	
+	private final List<Replica> replicas;
+	private final int probeTimeoutSeconds;
+	
+	public ReplicaSelector(Map<String, DataSource> replicas, Duration probeTimeout, MeterRegistry meterRegistry) {
+		List<Replica> list = new ArrayList<>();
+		replicas.forEach((key, dataSource) -> list.add(new Replica(key, dataSource)));
+		this.replicas = Collections.unmodifiableList(list);
+		this.probeTimeoutSeconds = (int) Math.max(1, probeTimeout.toSeconds());
+		for (Replica replica : this.replicas) {
+			Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+					.description("복제본 상태 (1: 정상, 0: 제외됨)")
+					.tag("replica", replica.key)
+					.register(meterRegistry);
+			Gauge.builder("datasource.replica.latency", replica, r -> r.latencyNanos / 1e9)
+					.description("복제본 응답 시간의 지수 이동 평균")
+					.tag("replica", replica.key)
+					.baseUnit("seconds")
+					.register(meterRegistry);
+		}
+	}
+	
+	/**
+	 * @return 모든 복제본
+	 */
+	public List<Replica> replicas() {
+		return replicas;
+	}
+	
+	/**
+	 * @return 사용할 복제본 (정상인 복제본이 없다면 null)
+	 */
+	public Replica select() {
+		Replica[] healthy = new Replica[replicas.size()];
+		double[] weights = new double[replicas.size()];
+		int count = 0;
+		double totalWeight = 0;
+		for (Replica replica : replicas) {
+			if (replica.healthy) {
+				healthy[count] = replica;
+				weights[count] = 1 / Math.max(replica.latencyNanos, MIN_LATENCY_NANOS);
+				totalWeight += weights[count];
+				count++;
+			}
+		}
+		if (count <= 1) {
+			return count == 0 ? null : healthy[0];
+		}
+		double point = ThreadLocalRandom.current().nextDouble(totalWeight);
+		for (int i = 0; i < count - 1; i++) {
+			point -= weights[i];
+			if (point < 0) {
+				return healthy[i];
+			}
+		}
+		return healthy[count - 1];
+	}
+	
+	/**
+	 * @param replica 복제본
+	 * @param nanos 커넥션을 얻거나 상태를 확인하는 데 걸린 시간
+	 */
+	public void recordLatency(Replica replica, long nanos) {
+		synchronized (replica) {
+			replica.latencyNanos = replica.latencyNanos == 0
+					? nanos
+					: replica.latencyNanos + EWMA_WEIGHT * (nanos - replica.latencyNanos);
+		}
+	}
+	
+	/**
+	 * 다음 상태 확인에서 응답할 때까지 복제본을 선택하지 않습니다.
+	 * 
+	 * @param replica 복제본
+	 * @param cause 제외하는 이유
+	 */
+	public void markDown(Replica replica, Exception cause) {
+		if (replica.healthy) {
+			replica.healthy = false;
+			log.warn("replica {} marked down: {}", replica.key, cause.toString());
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval:PT2S}")
+	public void checkHealth() {
+		for (Replica replica : replicas) {
+			long startedAt = System.nanoTime();
+			try (Connection connection = replica.dataSource.getConnection()) {
+				if (!connection.isValid(probeTimeoutSeconds)) {
+					throw new IllegalStateException("connection is not valid");
+				}
+				recordLatency(replica, System.nanoTime() - startedAt);
+				if (!replica.healthy) {
+					replica.healthy = true;
+					log.info("replica {} is back", replica.key);
+				}
+			} catch (Exception e) {
+				markDown(replica, e);
+			}
+		}
+	}
+	
+	@Override
+	public void close() throws Exception {
+		for (Replica replica : replicas) {
+			if (replica.dataSource instanceof AutoCloseable closeable) {
+				closeable.close();
+			}
+		}
+	}
+	
+	@Getter
+	public static final class Replica {
+		
+		private final String key;
+		private final DataSource dataSource;
+		private volatile boolean healthy = true;
+		private volatile double latencyNanos;
+		
+		private Replica(String key, DataSource dataSource) {
+			this.key = key;
+			this.dataSource = dataSource;
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기적으로 실행되는 작업(@Scheduled)을 활성화합니다. (예: ArticleViewCounter 의 조회수 반영)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
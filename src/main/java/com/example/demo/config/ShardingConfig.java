@@ -0,0 +1,26 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.example.demo.sharding.ArticleShards;
+import com.example.demo.sharding.ShardedArticleMapper;
+
+/**
+ * articles.sharding.urls 를 설정하면 ArticleMapper 를 주입받는 곳에 ShardedArticleMapper 를 주입합니다.
+ * MyBatis 가 만든 기본 ArticleMapper (주 DB) 는 전체 게시글 수(article_counter)에만 사용합니다.
+ */
+@Configuration
+@ConditionalOnProperty("articles.sharding.urls")
+public class ShardingConfig {
+	
+	@Bean
+	@Primary
+	public ArticleMapper shardedArticleMapper(ArticleShards articleShards, @Qualifier("articleMapper") ArticleMapper articleMapper) {
+		return new ShardedArticleMapper(articleShards, articleMapper);
+	}
+}
@@ -0,0 +1,29 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.threads.virtual.enabled=true 로 실행하면 (Java 21 이상)
+ * Tomcat 이 요청마다 가상 스레드를 만들어 처리하므로 컨트롤러와 @Transactional 서비스 호출이 모두 가상 스레드에서 실행됩니다.
+ * 
+ * 이 모드에서는 dataSource 빈을 ConnectionLimitingDataSource 로 감싸서 DB 동시 접근 수를 커넥션 풀 크기로 제한합니다.
+ * (복제본을 사용할 때도 주 DB 와 복제본을 합쳐 한 번만 제한합니다. ConnectionLimitingDataSourcePostProcessor 참고)
+ * 기본 모드(플랫폼 스레드)에서는 아무것도 바꾸지 않습니다.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+	
+	@Bean
+	static ConnectionLimitingDataSourcePostProcessor connectionLimitingDataSourcePostProcessor(
+			@Value("${db.connection-limit.max-connections:0}") int maxConnections,
+			@Value("${db.connection-limit.timeout:5s}") Duration timeout) {
+		return new ConnectionLimitingDataSourcePostProcessor(maxConnections, timeout);
+	}
+}
@@ -1,26 +1,44 @@
 package com.example.demo.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.demo.controller.WriteRateLimiter.Route;
 import com.example.demo.controller.request.CreateArticleRequest;
 import com.example.demo.controller.request.UpdateArticleRequest;
 import com.example.demo.controller.response.ArticleDetailDto;
 import com.example.demo.controller.response.ArticleListDto;
+import com.example.demo.controller.response.ArticlePageDto;
+import com.example.demo.controller.response.ArticleSearchResultDto;
 import com.example.demo.controller.response.CreateArticleResponse;
+import com.example.demo.controller.response.CreateArticlesResponse;
 import com.example.demo.controller.response.DeleteArticleResponse;
 import com.example.demo.controller.response.UpdateArticleResponse;
 import com.example.demo.model.Article;
+import com.example.demo.model.ArticleSearchResult;
 import com.example.demo.service.ArticleService;
+import com.example.demo.service.TableVersions;
+import com.example.demo.service.TableVersions.Table;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,31 +48,85 @@ import lombok.RequiredArgsConstructor;
 public class ArticleController {
 
 	private final ArticleService articleService;
+	private final ObjectMapper objectMapper;
+	private final TableVersions tableVersions;
+	private final WriteRateLimiter writeRateLimiter;
 	
 	@GetMapping
-	public List<ArticleListDto> list() {
-		return articleService.findArticles().stream()
+	public CompletableFuture<ResponseEntity<ArticlePageDto>> list(
+			@RequestParam(name = "after", required = false) String after,
+			@RequestParam(name = "size", defaultValue = "" + ArticleService.DEFAULT_PAGE_SIZE) int size,
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		String etag = ETags.list("articles", tableVersions.current(Table.ARTICLE));
+		if (ETags.matches(ifNoneMatch, etag)) {
+			return CompletableFuture.completedFuture(ETags.notModified(etag));
+		}
+		String stamp = tableVersions.settled(Table.ARTICLE) ? etag : null;
+		return articleService.findArticlePageAsync(PageCursor.decode(after), size).thenApply(page -> {
+			List<ArticleListDto> articles = page.getArticles().stream()
+					.map(a -> new ArticleListDto(
+							a.getId(),
+							a.getTitle(),
+							a.getMemberId()
+					)).collect(Collectors.toList());
+			return ResponseEntity.ok().eTag(stamp).body(new ArticlePageDto(articles, PageCursor.encode(page.getNextArticleId()), page.getTotalCount()));
+		});
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> stream() {
+		StreamingResponseBody body = out -> articleService.streamArticles(a -> {
+			try {
+				out.write(objectMapper.writeValueAsBytes(new ArticleListDto(
+						a.getId(),
+						a.getTitle(),
+						a.getMemberId())));
+				out.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(body);
+	}
+	
+	@GetMapping("/search")
+	public ArticleSearchResultDto search(
+			@RequestParam(name = "q") String query,
+			@RequestParam(name = "page", defaultValue = "0") int page,
+			@RequestParam(name = "size", defaultValue = "" + ArticleService.DEFAULT_PAGE_SIZE) int size) {
+		ArticleSearchResult result = articleService.searchArticles(query, page, size);
+		List<ArticleListDto> articles = result.getArticles().stream()
 				.map(a -> new ArticleListDto(
 						a.getId(),
 						a.getTitle(),
 						a.getMemberId()
 				)).collect(Collectors.toList());
+		return new ArticleSearchResultDto(articles, result.getTotalCount(), page, size);
 	}
 	
+	@CheapRead
 	@GetMapping("/{articleId}")
-	public ArticleDetailDto detail(@PathVariable(name = "articleId") Long articleId) {
-		Article foundArticle = articleService.findArticleById(articleId);
-		return new ArticleDetailDto(
-				foundArticle.getId(),
-				foundArticle.getTitle(),
-				foundArticle.getContent(),
-				foundArticle.getCreatedAt(),
-				foundArticle.getUpdatedAt(),
-				foundArticle.getMemberId());
+	public CompletableFuture<ResponseEntity<ArticleDetailDto>> detail(
+			@PathVariable(name = "articleId") Long articleId,
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		if (ifNoneMatch == null) {
+			return findDetail(articleId);
+		}
+		return articleService.findArticleUpdatedAtAsync(articleId).thenCompose(updatedAt -> {
+			Optional<String> etag = updatedAt.map(u -> ETags.article(articleId, u));
+			if (etag.isPresent() && ETags.matches(ifNoneMatch, etag.get())) {
+				articleService.recordArticleView(articleId);
+				return CompletableFuture.completedFuture(ETags.notModified(etag.get()));
+			}
+			return findDetail(articleId);
+		});
 	}
 	
 	@PostMapping
 	public CreateArticleResponse create(@RequestBody CreateArticleRequest request) {
+		writeRateLimiter.acquire(Route.ARTICLE_CREATE, request.getMemberId());
 		Long articleId = articleService.createArticle(
 				request.getTitle(),
 				request.getContent(),
@@ -62,10 +134,36 @@ public class ArticleController {
 		return new CreateArticleResponse(articleId);
 	}
 	
+	/**
+	 * 게시글을 최대 ArticleService.MAX_BATCH_SIZE 개까지 한 번에 등록합니다.
+	 * 게시글마다 작성자의 article-create 토큰을 하나씩 가져갑니다. (api.write-rate-limit, 기본 초당 5개, burst 20개)
+	 * 한 작성자의 게시글이 burst 보다 많으면 그 작성자의 버킷이 가득 찼을 때만 받아들이고, 모자란 토큰을 초당 rate 개씩 갚을 때까지 그 작성자의 등록을 거절합니다.
+	 * 토큰이 부족하면 아무것도 등록하지 않고 429 와 Retry-After(버킷이 충분히 채워질 때까지 남은 초)로 응답합니다.
+	 */
+	@PostMapping("/batch")
+	public CreateArticlesResponse createBatch(@RequestBody List<CreateArticleRequest> requests) {
+		List<Article> articles = requests.stream()
+				.map(r -> {
+					Article article = new Article();
+					article.setTitle(r.getTitle());
+					article.setContent(r.getContent());
+					article.setMemberId(r.getMemberId());
+					return article;
+				}).collect(Collectors.toList());
+		writeRateLimiter.acquire(Route.ARTICLE_CREATE, articles.stream()
+				.filter(a -> a.getMemberId() != null)
+				.collect(Collectors.groupingBy(Article::getMemberId, Collectors.summingInt(a -> 1))));
+		return new CreateArticlesResponse(articleService.createArticles(articles));
+	}
+	
 	@PatchMapping("/{articleId}")
 	public UpdateArticleResponse update(@PathVariable(name = "articleId") Long articleId, @RequestBody UpdateArticleRequest request) {
+		// 쓰기 트랜잭션을 열기 전에 거절하도록 작성자를 먼저 찾습니다. (대부분 ArticleAuthorCache 에서 찾습니다.)
+		String memberId = articleService.findArticleMemberId(articleId).orElse(null);
+		writeRateLimiter.acquire(Route.ARTICLE_UPDATE, memberId);
 		articleService.updateArticle(
 				articleId,
+				memberId,
 				request.getTitle(),
 				request.getContent());
 		return new UpdateArticleResponse(articleId);
@@ -73,7 +171,22 @@ public class ArticleController {
 	
 	@DeleteMapping("/{articleId}")
 	public DeleteArticleResponse delete(@PathVariable(name = "articleId") Long articleId) {
-		articleService.deleteArticle(articleId);
+		String memberId = articleService.findArticleMemberId(articleId).orElse(null);
+		writeRateLimiter.acquire(Route.ARTICLE_DELETE, memberId);
+		articleService.deleteArticle(articleId, memberId);
 		return new DeleteArticleResponse(articleId);
 	}
+	
+	private CompletableFuture<ResponseEntity<ArticleDetailDto>> findDetail(Long articleId) {
+		return articleService.findArticleByIdAsync(articleId).thenApply(foundArticle -> ResponseEntity.ok()
+				.eTag(ETags.article(foundArticle.getId(), foundArticle.getUpdatedAt()))
+				.body(new ArticleDetailDto(
+						foundArticle.getId(),
+						foundArticle.getTitle(),
+						foundArticle.getContent(),
+						foundArticle.getCreatedAt(),
+						foundArticle.getUpdatedAt(),
+						foundArticle.getMemberId(),
+						foundArticle.getViewCount())));
+	}
 }
@@ -0,0 +1,211 @@
+package com.example.demo.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.controller.response.ArticleListDto;
+import com.example.demo.controller.response.ArticlePageDto;
+import com.example.demo.model.ArticlePage;
+import com.example.demo.service.ArticleService;
+import com.example.demo.service.TableChangedEvent;
+import com.example.demo.service.TableVersions;
+import com.example.demo.service.TableVersions.Table;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * GET /api/v1/articles 의 첫 페이지(기본 페이지 크기) 응답을 미리 직렬화해서 메모리에 들고 있습니다.
+ * ArticleFrontPageFilter 가 이 바이트 배열을 그대로 응답하므로 MyBatis 와 Jackson 을 거치지 않습니다.
+ * 
+ * 게시글이 바뀌면(TableChangedEvent) articles.front-page.debounce 동안 변경을 모았다가 별도 스레드에서 한 번만 다시 만듭니다.
+ * 복제본을 사용하면 마지막 변경 뒤 datasource.replicas.max-lag 가 지날 때까지 기다렸다가 다시 만듭니다.
+ * 다시 만드는 동안에는 이전 스냅샷을 최대 articles.front-page.max-staleness 동안만 응답하고,
+ * 그보다 오래되면 스냅샷을 쓰지 않고 일반 경로로 조회합니다.
+ * articles.front-page.enabled=false 로 실행하면 스냅샷을 만들지 않습니다. (ArticleFrontPageFilter 도 등록되지 않습니다.)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "articles.front-page.enabled", matchIfMissing = true)
+public class ArticleFrontPage {
+	
+	private final ArticleService articleService;
+	private final TableVersions tableVersions;
+	private final ObjectMapper objectMapper;
+	private final boolean gzip;
+	private final long debounceNanos;
+	private final long maxStalenessNanos;
+	
+	private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "front-page-rebuild");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+	private final AtomicLong dirtySince = new AtomicLong();
+	private final Timer rebuildTimer;
+	
+	private volatile Snapshot snapshot;
+	
+	public ArticleFrontPage(
+			ArticleService articleService,
+			TableVersions tableVersions,
+			ObjectMapper objectMapper,
+			MeterRegistry meterRegistry,
+			@Value("${articles.front-page.gzip:true}") boolean gzip,
+			@Value("${articles.front-page.debounce:100ms}") Duration debounce,
+			@Value("${articles.front-page.max-staleness:1s}") Duration maxStaleness) {
+		this.articleService = articleService;
+		this.tableVersions = tableVersions;
+		this.objectMapper = objectMapper;
+		this.gzip = gzip;
+		this.debounceNanos = debounce.toNanos();
+		this.maxStalenessNanos = maxStaleness.toNanos();
+		this.rebuildTimer = Timer.builder("articles.front_page.rebuild")
+				.description("첫 페이지 스냅샷을 다시 만드는 데 걸린 시간")
+				.register(meterRegistry);
+		Gauge.builder("articles.front_page.age", this, page -> page.ageSeconds())
+				.description("현재 스냅샷이 만들어진 뒤 지난 시간")
+				.baseUnit("seconds")
+				.register(meterRegistry);
+	}
+	
+	/**
+	 * @return 지금 응답해도 되는 스냅샷 (없거나 너무 오래되었다면 null)
+	 */
+	Snapshot current() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			return null;
+		}
+		if (current.version.equals(tableVersions.current(Table.ARTICLE))) {
+			return current;
+		}
+		long dirty = dirtySince.get();
+		return dirty != 0 && System.nanoTime() - dirty <= maxStalenessNanos ? current : null;
+	}
+	
+	/**
+	 * @return 지금 게시글 테이블 버전
+	 */
+	String currentVersion() {
+		return tableVersions.current(Table.ARTICLE);
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void build() {
+		rebuild();
+	}
+	
+	@EventListener
+	public void onTableChanged(TableChangedEvent event) {
+		if (event.getTable() != Table.ARTICLE) {
+			return;
+		}
+		dirtySince.compareAndSet(0, System.nanoTime());
+		scheduleRebuild(debounceNanos);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		rebuilder.shutdownNow();
+	}
+	
+	private void scheduleRebuild(long delayNanos) {
+		if (rebuildScheduled.compareAndSet(false, true)) {
+			rebuilder.schedule(() -> {
+				rebuildScheduled.set(false);
+				rebuild();
+			}, delayNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+	
+	private void rebuild() {
+		// 조회 전에 버전을 읽어야 스냅샷에 실제보다 새로운 버전이 붙지 않습니다.
+		String version = tableVersions.current(Table.ARTICLE);
+		long untilSettled = tableVersions.nanosUntilSettled(Table.ARTICLE);
+		if (untilSettled > 0) {
+			// 복제본이 마지막 변경을 따라올 때까지 이전 스냅샷을 유지합니다. (TableVersions#settled)
+			scheduleRebuild(untilSettled);
+			return;
+		}
+		try {
+			rebuildTimer.record(() -> {
+				ArticlePage page = articleService.findArticlePage(null, ArticleService.DEFAULT_PAGE_SIZE);
+				List<ArticleListDto> articles = page.getArticles().stream()
+						.map(a -> new ArticleListDto(
+								a.getId(),
+								a.getTitle(),
+								a.getMemberId()
+						)).collect(Collectors.toList());
+				byte[] json = serialize(new ArticlePageDto(articles, PageCursor.encode(page.getNextArticleId()), page.getTotalCount()));
+				snapshot = new Snapshot(version, ETags.list("articles", version), json, gzip ? gzip(json) : null, System.nanoTime());
+				if (version.equals(tableVersions.current(Table.ARTICLE))) {
+					dirtySince.set(0);
+				}
+			});
+		} catch (RuntimeException e) {
+			log.warn("failed to rebuild the article front page snapshot", e);
+		}
+	}
+	
+	private byte[] serialize(ArticlePageDto page) {
+		try {
+			return objectMapper.writeValueAsBytes(page);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static byte[] gzip(byte[] json) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(json);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+	
+	private double ageSeconds() {
+		Snapshot current = snapshot;
+		return current == null ? Double.NaN : (System.nanoTime() - current.builtAt) / 1e9;
+	}
+	
+	static final class Snapshot {
+		
+		final String version;
+		final String etag;
+		final byte[] json;
+		final byte[] gzip;
+		final long builtAt;
+		
+		private Snapshot(String version, String etag, byte[] json, byte[] gzip, long builtAt) {
+			this.version = version;
+			this.etag = etag;
+			this.json = json;
+			this.gzip = gzip;
+			this.builtAt = builtAt;
+		}
+	}
+}
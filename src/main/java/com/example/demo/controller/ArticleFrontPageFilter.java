@@ -0,0 +1,95 @@
+package com.example.demo.controller;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.demo.controller.ArticleFrontPage.Snapshot;
+import com.example.demo.service.ArticleService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 커서 없이 기본 크기로 요청한 게시글 목록(첫 페이지)을 ArticleFrontPage 의 스냅샷으로 바로 응답합니다.
+ * 클라이언트가 gzip 을 받을 수 있다면 미리 압축해둔 바이트를 보냅니다.
+ * 쓸 수 있는 스냅샷이 없다면 ArticleController 로 넘깁니다.
+ */
+@Component
+@ConditionalOnProperty(name = "articles.front-page.enabled", matchIfMissing = true)
+public class ArticleFrontPageFilter extends OncePerRequestFilter {
+	
+	private static final String PATH = "/api/v1/articles";
+	private static final String DEFAULT_SIZE = String.valueOf(ArticleService.DEFAULT_PAGE_SIZE);
+	
+	private final ArticleFrontPage frontPage;
+	private final Counter hits;
+	private final Counter staleHits;
+	private final Counter misses;
+	
+	public ArticleFrontPageFilter(
+			ArticleFrontPage frontPage,
+			MeterRegistry meterRegistry) {
+		this.frontPage = frontPage;
+		this.hits = counter(meterRegistry, "hit");
+		this.staleHits = counter(meterRegistry, "stale");
+		this.misses = counter(meterRegistry, "miss");
+	}
+	
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (!HttpMethod.GET.matches(request.getMethod()) || !PATH.equals(request.getRequestURI())) {
+			return true;
+		}
+		String size = request.getParameter("size");
+		return request.getParameter("after") != null || (size != null && !size.equals(DEFAULT_SIZE));
+	}
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Snapshot snapshot = frontPage.current();
+		if (snapshot == null) {
+			misses.increment();
+			filterChain.doFilter(request, response);
+			return;
+		}
+		(snapshot.version.equals(frontPage.currentVersion()) ? hits : staleHits).increment();
+		
+		response.setHeader(HttpHeaders.ETAG, snapshot.etag);
+		if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), snapshot.etag)) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		byte[] body = snapshot.json;
+		if (snapshot.gzip != null && acceptsGzip(request)) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+			body = snapshot.gzip;
+		}
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+	
+	private static boolean acceptsGzip(HttpServletRequest request) {
+		String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+	}
+	
+	private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("articles.front_page.requests")
+				.description("게시글 목록 첫 페이지 요청 수 (hit: 최신 스냅샷, stale: 다시 만드는 중인 스냅샷, miss: 일반 경로)")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,16 @@
+package com.example.demo.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 단건 조회처럼 비용이 작은 GET 핸들러에 붙입니다.
+ * ConcurrencyLimitInterceptor 는 이 요청을 READ 그룹으로 분류해서, DB 가 느려져도 목록 조회나 쓰기보다 나중에 거절합니다.
+ * 붙이지 않은 GET 핸들러는 LIST 그룹입니다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CheapRead {
+}
@@ -0,0 +1,20 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.ConcurrencyLimiter.Group;
+
+import lombok.Getter;
+
+/**
+ * 요청 종류의 동시 처리 한도에 도달해서 요청을 거절할 때 발생합니다. (503 응답으로 변환됩니다.)
+ * 과부하 중에 많이 만들어지므로 스택 트레이스를 채우지 않습니다.
+ */
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+	
+	private final Group group;
+	
+	public ConcurrencyLimitExceededException(Group group) {
+		super("concurrency limit exceeded: " + group, null, false, false);
+		this.group = group;
+	}
+}
@@ -0,0 +1,133 @@
+package com.example.demo.controller;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.demo.controller.ConcurrencyLimiter.Group;
+import com.example.demo.controller.ConcurrencyLimiter.Permit;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 컨트롤러 핸들러를 실행하기 전에 ConcurrencyLimiter 의 허가를 받고, 응답이 끝나면 돌려줍니다.
+ * 
+ * GET 이 아닌 요청은 WRITE, @CheapRead 가 붙은 GET 은 READ, 나머지 GET 은 LIST 그룹입니다.
+ * CompletableFuture 나 StreamingResponseBody 로 비동기 처리되는 요청은 비동기 처리가 끝났을 때 돌려주며,
+ * 비동기 처리 결과를 내보내기 위해 다시 디스패치될 때는 허가를 다시 받지 않습니다.
+ * 스트리밍 응답은 오래 걸리는 게 정상이므로 응답 시간을 한도 조절에 사용하지 않습니다.
+ * JDBC 실행기가 가득 차서 503 으로 거절한 요청(ServiceUnavailableHandler)은 처리하지 않은 요청이므로 한도 조절에 사용하지 않습니다.
+ * 
+ * 응답 상태가 5xx 라는 것만으로는 실패로 보지 않습니다. (없는 아이디처럼 클라이언트가 잘못 보낸 요청도 500 으로 끝날 수 있습니다.)
+ * DB 오류(DataAccessException, SQLException)로 끝났거나 비동기 처리가 시간 초과/오류로 끝난 요청만 느린 응답과 같이 취급합니다.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+	
+	private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+	
+	private final ConcurrencyLimiter concurrencyLimiter;
+	private final Map<Method, Boolean> streaming = new ConcurrentHashMap<>();
+	
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (!(handler instanceof HandlerMethod handlerMethod) || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+			return true;
+		}
+		Group group = classify(request, handlerMethod);
+		Permit permit = concurrencyLimiter.tryAcquire(group);
+		if (permit == null) {
+			throw new ConcurrencyLimitExceededException(group);
+		}
+		request.setAttribute(PERMIT_ATTRIBUTE, permit);
+		return true;
+	}
+	
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+		if (permit == null) {
+			return;
+		}
+		// 비동기 처리가 시간 초과나 오류로 끝나 다시 디스패치되지 않더라도 허가를 돌려받습니다.
+		request.getAsyncContext().addListener(new AsyncListener() {
+			@Override
+			public void onComplete(AsyncEvent event) {
+				release(request, response, handler, false);
+			}
+			
+			@Override
+			public void onTimeout(AsyncEvent event) {
+				release(request, response, handler, true);
+			}
+			
+			@Override
+			public void onError(AsyncEvent event) {
+				release(request, response, handler, true);
+			}
+			
+			@Override
+			public void onStartAsync(AsyncEvent event) {
+			}
+		});
+	}
+	
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		if (!request.isAsyncStarted()) {
+			release(request, response, handler, isServerFailure(ex));
+		}
+	}
+	
+	private void release(HttpServletRequest request, HttpServletResponse response, Object handler, boolean failed) {
+		Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+		if (permit == null) {
+			return;
+		}
+		if (!failed && response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE) {
+			concurrencyLimiter.release(permit, false, false);
+			return;
+		}
+		boolean sample = !(handler instanceof HandlerMethod handlerMethod) || !isStreaming(handlerMethod);
+		concurrencyLimiter.release(permit, failed, sample);
+	}
+	
+	private boolean isServerFailure(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof DataAccessException || cause instanceof SQLException) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private Group classify(HttpServletRequest request, HandlerMethod handler) {
+		if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+			return Group.WRITE;
+		}
+		return handler.hasMethodAnnotation(CheapRead.class) ? Group.READ : Group.LIST;
+	}
+	
+	private boolean isStreaming(HandlerMethod handler) {
+		return streaming.computeIfAbsent(handler.getMethod(), method -> {
+			ResolvableType type = ResolvableType.forMethodReturnType(method);
+			if (ResponseEntity.class.equals(type.resolve())) {
+				type = type.getGeneric(0);
+			}
+			return StreamingResponseBody.class.isAssignableFrom(type.toClass());
+		});
+	}
+}
@@ -0,0 +1,174 @@
+package com.example.demo.controller;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 요청 종류(Group)별로 동시에 처리할 수 있는 요청 수를 응답 시간에 따라 조절합니다. (AIMD)
+ * 
+ * 요청이 끝날 때마다 응답 시간을 그룹의 목표 응답 시간과 비교해서,
+ * 목표보다 빨랐고 한도의 절반 이상을 쓰고 있었다면 한도를 1 늘리고, 느렸거나 서버 오류로 끝났다면 BACKOFF_RATIO 를 곱해 줄입니다.
+ * 한도를 줄인 뒤에는 그 이후에 시작한 요청이 느려야 다시 줄이므로, 한 번 멈췄을 때 함께 처리 중이던 요청들이 한꺼번에 끝나도 한 번만 줄어듭니다.
+ * 한도에 도달한 그룹의 요청은 기다리게 하지 않고 바로 거절합니다.
+ * 
+ * 그룹은 우선순위 순서(READ, WRITE, LIST)로 선언되어 있고, 한 그룹이 느려지면 그보다 우선순위가 낮은 그룹의 한도도 함께 줄입니다.
+ * DB 가 느려지면 목록 조회와 쓰기가 먼저 거절되고, 단건 조회는 자기 한도 안에서 계속 처리됩니다.
+ */
+public class ConcurrencyLimiter {
+	
+	static final double BACKOFF_RATIO = 0.9;
+	
+	public enum Group {
+		/**
+		 * 단건 조회처럼 비용이 작은 읽기 (@CheapRead)
+		 */
+		READ,
+		/**
+		 * 등록, 수정, 삭제
+		 */
+		WRITE,
+		/**
+		 * 목록, 검색, 내보내기처럼 비용이 큰 읽기
+		 */
+		LIST
+	}
+	
+	private final Map<Group, Limit> limits = new EnumMap<>(Group.class);
+	
+	public ConcurrencyLimiter(Map<Group, Settings> settings, MeterRegistry meterRegistry) {
+		for (Group group : Group.values()) {
+			Limit limit = new Limit(settings.get(group));
+			limits.put(group, limit);
+			String tag = group.name().toLowerCase();
+			Gauge.builder("api.concurrency.limit", limit, l -> l.limit)
+					.description("요청 종류별 동시 처리 한도")
+					.tag("group", tag)
+					.register(meterRegistry);
+			Gauge.builder("api.concurrency.inflight", limit, l -> l.inflight.get())
+					.description("요청 종류별 처리 중인 요청 수")
+					.tag("group", tag)
+					.register(meterRegistry);
+			limit.rejected = Counter.builder("api.concurrency.rejected")
+					.description("동시 처리 한도를 넘어 거절된 요청 수")
+					.tag("group", tag)
+					.register(meterRegistry);
+		}
+	}
+	
+	/**
+	 * @param group 요청 종류
+	 * @return 처리를 허가하면 Permit, 한도에 도달했다면 null
+	 */
+	public Permit tryAcquire(Group group) {
+		Limit limit = limits.get(group);
+		while (true) {
+			int inflight = limit.inflight.get();
+			if (inflight >= (int) limit.limit) {
+				limit.rejected.increment();
+				return null;
+			}
+			if (limit.inflight.compareAndSet(inflight, inflight + 1)) {
+				return new Permit(group, inflight + 1, System.nanoTime());
+			}
+		}
+	}
+	
+	/**
+	 * 요청이 끝나면 한 번 호출합니다. (같은 Permit 으로 다시 호출하면 무시합니다.)
+	 * 
+	 * @param permit tryAcquire 로 받은 허가
+	 * @param failed 서버 오류로 끝났을 경우 true (느린 응답과 같이 취급합니다.)
+	 * @param sample 응답 시간을 한도 조절에 사용할 경우 true (오래 걸리는 게 정상인 스트리밍 응답은 false)
+	 */
+	public void release(Permit permit, boolean failed, boolean sample) {
+		if (!permit.released.compareAndSet(false, true)) {
+			return;
+		}
+		Limit limit = limits.get(permit.group);
+		limit.inflight.decrementAndGet();
+		if (!sample && !failed) {
+			return;
+		}
+		long now = System.nanoTime();
+		if (failed || now - permit.startedAt > limit.settings.targetLatency().toNanos()) {
+			for (Group group : Group.values()) {
+				if (group.ordinal() >= permit.group.ordinal()) {
+					limits.get(group).decrease(permit.startedAt, now);
+				}
+			}
+		} else if (permit.inflight * 2 >= limit.limit) {
+			limit.increase();
+		}
+	}
+	
+	/**
+	 * @param group 요청 종류
+	 * @return 현재 동시 처리 한도
+	 */
+	public int limit(Group group) {
+		return (int) limits.get(group).limit;
+	}
+	
+	/**
+	 * @param initialLimit 시작 한도
+	 * @param minLimit 최소 한도 (느려져도 이만큼은 계속 처리합니다.)
+	 * @param maxLimit 최대 한도
+	 * @param targetLatency 이보다 오래 걸린 요청은 느려졌다는 신호로 봅니다.
+	 */
+	public record Settings(int initialLimit, int minLimit, int maxLimit, Duration targetLatency) {
+	}
+	
+	public static final class Permit {
+		
+		private final Group group;
+		private final int inflight;
+		private final long startedAt;
+		private final AtomicBoolean released = new AtomicBoolean();
+		
+		private Permit(Group group, int inflight, long startedAt) {
+			this.group = group;
+			this.inflight = inflight;
+			this.startedAt = startedAt;
+		}
+	}
+	
+	private static final class Limit {
+		
+		private final Settings settings;
+		private final AtomicInteger inflight = new AtomicInteger();
+		private volatile double limit;
+		/**
+		 * 마지막으로 한도를 줄인 시각 (System.nanoTime)
+		 */
+		private long lastDecreaseNanos = System.nanoTime();
+		private Counter rejected;
+		
+		private Limit(Settings settings) {
+			this.settings = settings;
+			this.limit = settings.initialLimit();
+		}
+		
+		private synchronized void increase() {
+			limit = Math.min(settings.maxLimit(), limit + 1);
+		}
+		
+		/**
+		 * @param startedAt 느려진 요청이 시작한 시각 (이 시각 전에 이미 한도를 줄였다면 무시합니다.)
+		 * @param now 지금 시각
+		 */
+		private synchronized void decrease(long startedAt, long now) {
+			if (startedAt - lastDecreaseNanos < 0) {
+				return;
+			}
+			limit = Math.max(settings.minLimit(), limit * BACKOFF_RATIO);
+			lastDecreaseNanos = now;
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.demo.controller;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.demo.model.Member;
+
+/**
+ * 응답의 ETag 를 만들고 If-None-Match 헤더와 비교합니다.
+ */
+final class ETags {
+	
+	private static final DateTimeFormatter UPDATED_AT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS");
+	
+	private ETags() {
+	}
+	
+	/**
+	 * 응답의 조회수는 조회할 때마다 바뀌므로 ETag 에 넣지 않고 약한 ETag(W/)로 만듭니다.
+	 * 같은 ETag 의 응답은 제목, 내용, 작성자가 같다는 뜻이며, 조회수는 304 를 받은 동안 이전 값으로 남을 수 있습니다.
+	 * 
+	 * @return 게시글 아이디와 수정 시각으로 만든 약한 ETag
+	 */
+	static String article(Long articleId, LocalDateTime updatedAt) {
+		return "W/\"a" + articleId + "-" + UPDATED_AT.format(updatedAt) + "\"";
+	}
+	
+	/**
+	 * 회원 아이디는 ETag 에 쓸 수 없는 문자를 포함할 수 있고 URL 에 이미 들어 있으므로 넣지 않습니다.
+	 * 삭제 후 같은 아이디로 다시 가입하면 버전이 0 부터 다시 시작하므로 응답 필드의 해시를 함께 사용합니다.
+	 * 게시글 수는 버전을 올리지 않고 바뀌므로 해시에 포함합니다.
+	 * 
+	 * @return 회원 버전과 응답 필드로 만든 ETag
+	 */
+	static String member(Member member) {
+		return "\"m" + member.getVersion() + "-" + Integer.toHexString(Objects.hash(member.getNickname(), member.getAge(), member.getArticleCount())) + "\"";
+	}
+	
+	/**
+	 * @return 목록 이름과 테이블 버전으로 만든 ETag
+	 */
+	static String list(String name, String... versions) {
+		return "\"" + name + "-" + String.join("-", versions) + "\"";
+	}
+	
+	/**
+	 * If-None-Match 는 약한 비교를 사용하므로 양쪽의 W/ 접두어는 무시합니다.
+	 * 
+	 * @param ifNoneMatch 요청의 If-None-Match 헤더 (없으면 null)
+	 * @param etag 현재 ETag
+	 * @return 클라이언트가 현재 ETag 를 가지고 있다면 true
+	 */
+	static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals("*") || tag.equals(opaque)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	static <T> ResponseEntity<T> notModified(String etag) {
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+	}
+}
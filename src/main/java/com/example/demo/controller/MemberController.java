@@ -1,28 +1,51 @@
 package com.example.demo.controller;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.demo.controller.WriteRateLimiter.Route;
 import com.example.demo.controller.request.CreateMemberRequest;
 import com.example.demo.controller.request.UpdateMemberRequest;
 import com.example.demo.controller.response.ArticleListDto;
+import com.example.demo.controller.response.ArticlePageDto;
 import com.example.demo.controller.response.CreateMemberResponse;
 import com.example.demo.controller.response.DeleteMemberResponse;
+import com.example.demo.controller.response.ImportMemberResultDto;
+import com.example.demo.controller.response.ImportMembersSummaryDto;
 import com.example.demo.controller.response.MemberDetailDto;
 import com.example.demo.controller.response.MemberListDto;
 import com.example.demo.controller.response.UpdateMemberResponse;
-import com.example.demo.model.Member;
+import com.example.demo.model.MemberImportSummary;
 import com.example.demo.service.ArticleService;
+import com.example.demo.service.MemberImportService;
 import com.example.demo.service.MemberService;
+import com.example.demo.service.TableVersions;
+import com.example.demo.service.TableVersions.Table;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -33,33 +56,64 @@ public class MemberController {
 
 	private final MemberService memberService;
 	private final ArticleService articleService;
+	private final MemberImportService memberImportService;
+	private final ObjectMapper objectMapper;
+	private final TableVersions tableVersions;
+	private final WriteRateLimiter writeRateLimiter;
 	
 	@GetMapping
-	public List<MemberListDto> list() {
-		return memberService.findMembers().stream()
+	public CompletableFuture<ResponseEntity<List<MemberListDto>>> list(
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		String etag = ETags.list("members", tableVersions.current(Table.MEMBER));
+		if (ETags.matches(ifNoneMatch, etag)) {
+			return CompletableFuture.completedFuture(ETags.notModified(etag));
+		}
+		String stamp = tableVersions.settled(Table.MEMBER) ? etag : null;
+		return memberService.findMembersAsync().thenApply(members -> ResponseEntity.ok().eTag(stamp).body(members.stream()
 			.map(m -> new MemberListDto(
 					m.getId(),
 					m.getNickname()
-			)).collect(Collectors.toList());
+			)).collect(Collectors.toList())));
 	}
 	
+	@CheapRead
 	@GetMapping("/{memberId}")
-	public MemberDetailDto detail(@PathVariable(name = "memberId") String memberId) {
-		Member foundMember = memberService.findMember(memberId);
-		return new MemberDetailDto(
-				foundMember.getId(),
-				foundMember.getNickname(),
-				foundMember.getAge());
+	public CompletableFuture<ResponseEntity<MemberDetailDto>> detail(
+			@PathVariable(name = "memberId") String memberId,
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		return memberService.findMemberAsync(memberId).thenApply(foundMember -> {
+			String etag = ETags.member(foundMember);
+			if (ETags.matches(ifNoneMatch, etag)) {
+				return ETags.notModified(etag);
+			}
+			return ResponseEntity.ok().eTag(etag).body(new MemberDetailDto(
+					foundMember.getId(),
+					foundMember.getNickname(),
+					foundMember.getAge(),
+					foundMember.getArticleCount()));
+		});
 	}
 	
 	@GetMapping("/{memberId}/articles")
-	public List<ArticleListDto> listByMemberId(@PathVariable(name = "memberId") String memberId) {
-		return articleService.findArticleByMemberId(memberId).stream()
-				.map(a -> new ArticleListDto(
-						a.getId(),
-						a.getTitle(),
-						a.getMemberId()
-				)).collect(Collectors.toList());
+	public CompletableFuture<ResponseEntity<ArticlePageDto>> listByMemberId(
+			@PathVariable(name = "memberId") String memberId,
+			@RequestParam(name = "after", required = false) String after,
+			@RequestParam(name = "size", defaultValue = "" + ArticleService.DEFAULT_PAGE_SIZE) int size,
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		String etag = ETags.list("member-articles", tableVersions.current(Table.MEMBER), tableVersions.current(Table.ARTICLE));
+		if (ETags.matches(ifNoneMatch, etag)) {
+			return CompletableFuture.completedFuture(ETags.notModified(etag));
+		}
+		String stamp = tableVersions.settled(Table.MEMBER, Table.ARTICLE) ? etag : null;
+		return articleService.findArticlePageByMemberIdAsync(memberId, PageCursor.decode(after), size).thenApply(page -> {
+			List<ArticleListDto> articles = page.getArticles().stream()
+					.map(a -> new ArticleListDto(
+							a.getId(),
+							a.getTitle(),
+							a.getMemberId()
+					)).collect(Collectors.toList());
+			return ResponseEntity.ok().eTag(stamp).body(new ArticlePageDto(articles, PageCursor.encode(page.getNextArticleId()), page.getTotalCount()));
+		});
 	}
 	
 	@PostMapping
@@ -72,8 +126,39 @@ public class MemberController {
 		return new CreateMemberResponse(memberId);
 	}
 	
+	@PostMapping(
+			value = "/import",
+			consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE},
+			produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> importMembers(
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+			InputStream body) {
+		MemberImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+				? MemberImportService.Format.NDJSON
+				: MemberImportService.Format.CSV;
+		Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+		StreamingResponseBody responseBody = out -> {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset));
+			MemberImportSummary summary = memberImportService.importMembers(reader, format, r -> writeLine(out,
+					new ImportMemberResultDto(
+							r.getLine(),
+							r.getMemberId(),
+							r.getStatus().name(),
+							r.getMessage())));
+			writeLine(out, new ImportMembersSummaryDto(
+					"SUMMARY",
+					summary.getCreated(),
+					summary.getDuplicates(),
+					summary.getInvalid()));
+		};
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(responseBody);
+	}
+	
 	@PatchMapping("/{memberId}")
 	public UpdateMemberResponse update(@PathVariable(name = "memberId") String memberId, @RequestBody UpdateMemberRequest request) {
+		writeRateLimiter.acquire(Route.MEMBER_UPDATE, memberId);
 		memberService.updateMember(
 				memberId,
 				request.getPassword(),
@@ -84,7 +169,17 @@ public class MemberController {
 	
 	@DeleteMapping("/{memberId}")
 	public DeleteMemberResponse delete(@PathVariable(name = "memberId") String memberId) {
+		writeRateLimiter.acquire(Route.MEMBER_DELETE, memberId);
 		memberService.deleteMember(memberId);
 		return new DeleteMemberResponse(memberId);
 	}
+	
+	private void writeLine(OutputStream out, Object value) {
+		try {
+			out.write(objectMapper.writeValueAsBytes(value));
+			out.write('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
 }
@@ -0,0 +1,45 @@
+package com.example.demo.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 페이지네이션 커서를 클라이언트에게 불투명한 문자열로 변환합니다.
+ * 내부적으로는 마지막으로 반환된 게시글 아이디를 담고 있습니다.
+ */
+final class PageCursor {
+	
+	private static final String PREFIX = "a:";
+	
+	private PageCursor() {
+	}
+	
+	static String encode(Long articleId) {
+		if (articleId == null) {
+			return null;
+		}
+		byte[] raw = (PREFIX + articleId).getBytes(StandardCharsets.UTF_8);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+	}
+	
+	/**
+	 * @throws ResponseStatusException 형식이 올바르지 않은 커서일 경우 400 응답으로 변환됩니다.
+	 */
+	static Long decode(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if (!raw.startsWith(PREFIX)) {
+				throw new IllegalArgumentException(raw);
+			}
+			return Long.valueOf(raw.substring(PREFIX.length()));
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다.", e);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.example.demo.controller;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * JDBC 실행기의 대기열이 가득 차거나 동시 처리 한도에 도달해서 거절된 요청을 503 과 Retry-After 헤더로 응답합니다.
+ */
+@RestControllerAdvice
+public class ServiceUnavailableHandler {
+	
+	private final String retryAfterSeconds;
+	
+	public ServiceUnavailableHandler(@Value("${jdbc.executor.retry-after:1s}") Duration retryAfter) {
+		this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+	}
+	
+	@ExceptionHandler({TaskRejectedException.class, ConcurrencyLimitExceededException.class})
+	public ResponseEntity<ProblemDetail> rejected(RuntimeException e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+				.body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."));
+	}
+}
@@ -0,0 +1,23 @@
+package com.example.demo.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 회원별 쓰기 빈도 제한에 걸린 요청을 429 와 Retry-After 헤더(다음 요청이 허용될 때까지 남은 초, 올림)로 응답합니다.
+ */
+@RestControllerAdvice
+public class TooManyRequestsHandler {
+	
+	@ExceptionHandler(WriteRateLimitExceededException.class)
+	public ResponseEntity<ProblemDetail> tooManyRequests(WriteRateLimitExceededException e) {
+		long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+				.body(ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 잦습니다. 잠시 후 다시 시도해 주세요."));
+	}
+}
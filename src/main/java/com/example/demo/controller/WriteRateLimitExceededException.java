@@ -0,0 +1,24 @@
+package com.example.demo.controller;
+
+import java.time.Duration;
+
+import com.example.demo.controller.WriteRateLimiter.Route;
+
+import lombok.Getter;
+
+/**
+ * 회원의 쓰기 빈도 제한을 넘어 요청을 거절할 때 발생합니다. (429 응답으로 변환됩니다.)
+ * 과부하 중에 많이 만들어지므로 스택 트레이스를 채우지 않습니다.
+ */
+@Getter
+public class WriteRateLimitExceededException extends RuntimeException {
+	
+	private final Route route;
+	private final Duration retryAfter;
+	
+	public WriteRateLimitExceededException(Route route, Duration retryAfter) {
+		super("write rate limit exceeded: " + route, null, false, false);
+		this.route = route;
+		this.retryAfter = retryAfter;
+	}
+}
@@ -0,0 +1,216 @@
+package com.example.demo.controller;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 회원별로 쓰기 요청의 빈도를 제한합니다. (경로별 token bucket)
+ * 
+ * 버킷은 GCRA(Generic Cell Rate Algorithm) 로 구현해서 회원마다 AtomicLong 하나(다음 요청이 허용되는 이론상 시각)만 두고
+ * 잠금 없이 CAS 로 갱신합니다. 초당 rate 개씩 채워지고 최대 burst 개까지 쌓이는 token bucket 과 같게 동작합니다.
+ * 
+ * 버킷은 경로마다 크기가 제한된 Caffeine 캐시에 두고, 다시 가득 찰 때까지 쓰이지 않으면 제거합니다.
+ * (가득 찬 버킷은 새로 만든 버킷과 같으므로 제거해도 제한이 느슨해지지 않습니다.)
+ * 최대 크기를 넘겨 오래된 버킷이 먼저 제거되면 그 회원의 버킷은 가득 찬 상태로 다시 시작합니다.
+ * 
+ * 경로별 설정은 api.write-rate-limit.routes.{route}.rate / burst 이고, 없으면 api.write-rate-limit.rate / burst 를 사용합니다.
+ * rate 를 0 으로 설정한 경로는 제한하지 않습니다.
+ */
+@Component
+public class WriteRateLimiter {
+	
+	public enum Route {
+		ARTICLE_CREATE("article-create"),
+		ARTICLE_UPDATE("article-update"),
+		ARTICLE_DELETE("article-delete"),
+		MEMBER_UPDATE("member-update"),
+		MEMBER_DELETE("member-delete");
+		
+		private final String key;
+		
+		Route(String key) {
+			this.key = key;
+		}
+	}
+	
+	private final Map<Route, Buckets> buckets = new EnumMap<>(Route.class);
+	private final LongSupplier nanoTime;
+	
+	@Autowired
+	public WriteRateLimiter(Environment environment, MeterRegistry meterRegistry) {
+		this(settings(environment), environment.getProperty("api.write-rate-limit.maximum-size", Long.class, 100_000L),
+				meterRegistry, System::nanoTime);
+	}
+	
+	WriteRateLimiter(Map<Route, Settings> settings, long maximumSize, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+		this.nanoTime = nanoTime;
+		for (Route route : Route.values()) {
+			Settings routeSettings = settings.get(route);
+			if (routeSettings.rate() <= 0) {
+				continue;
+			}
+			Buckets routeBuckets = new Buckets(routeSettings, maximumSize, nanoTime);
+			buckets.put(route, routeBuckets);
+			routeBuckets.rejected = Counter.builder("api.write_rate_limit.rejected")
+					.description("회원별 쓰기 빈도 제한으로 거절된 요청 수")
+					.tag("route", route.key)
+					.register(meterRegistry);
+			Gauge.builder("api.write_rate_limit.buckets", routeBuckets.cache, Cache::estimatedSize)
+					.description("경로별로 유지하고 있는 회원 버킷 수")
+					.tag("route", route.key)
+					.register(meterRegistry);
+		}
+	}
+	
+	/**
+	 * @param route 쓰기 경로
+	 * @param memberId 요청한 회원 아이디 (null 이면 제한하지 않습니다.)
+	 * @throws WriteRateLimitExceededException 회원의 버킷이 비어 있을 경우 예외를 발생시킵니다.
+	 */
+	public void acquire(Route route, String memberId) {
+		Buckets routeBuckets = buckets.get(route);
+		if (routeBuckets == null || memberId == null) {
+			return;
+		}
+		long waitNanos = routeBuckets.tryAcquire(memberId, 1, nanoTime.getAsLong());
+		if (waitNanos > 0) {
+			routeBuckets.rejected.increment();
+			throw new WriteRateLimitExceededException(route, Duration.ofNanos(waitNanos));
+		}
+	}
+	
+	/**
+	 * 여러 회원의 토큰을 한 번에 가져갑니다. 한 회원이라도 부족하면 앞서 가져간 토큰을 돌려놓고 거절합니다.
+	 * 한 회원이 burst 보다 많은 토큰을 요청하면 버킷이 가득 찼을 때만 허용하고, 모자란 토큰은 앞으로 채워질 토큰에서 당겨 씁니다.
+	 * (초당 rate 개씩 갚을 때까지 그 회원의 다음 요청은 거절됩니다.)
+	 * 
+	 * @param route 쓰기 경로
+	 * @param permits 회원 아이디별로 가져갈 토큰 수
+	 * @throws WriteRateLimitExceededException 토큰이 부족한 회원이 있을 경우 예외를 발생시킵니다.
+	 */
+	public void acquire(Route route, Map<String, Integer> permits) {
+		Buckets routeBuckets = buckets.get(route);
+		if (routeBuckets == null) {
+			return;
+		}
+		long now = nanoTime.getAsLong();
+		Map<String, Integer> acquired = new HashMap<>();
+		for (Map.Entry<String, Integer> entry : permits.entrySet()) {
+			if (entry.getKey() == null) {
+				continue;
+			}
+			int count = entry.getValue();
+			long waitNanos = routeBuckets.tryAcquire(entry.getKey(), count, now);
+			if (waitNanos > 0) {
+				acquired.forEach(routeBuckets::refund);
+				routeBuckets.rejected.increment();
+				throw new WriteRateLimitExceededException(route, Duration.ofNanos(waitNanos));
+			}
+			acquired.put(entry.getKey(), count);
+		}
+	}
+	
+	private static Map<Route, Settings> settings(Environment environment) {
+		double defaultRate = environment.getProperty("api.write-rate-limit.rate", Double.class, 5.0);
+		int defaultBurst = environment.getProperty("api.write-rate-limit.burst", Integer.class, 20);
+		Map<Route, Settings> settings = new EnumMap<>(Route.class);
+		for (Route route : Route.values()) {
+			String prefix = "api.write-rate-limit.routes." + route.key + ".";
+			settings.put(route, new Settings(
+					environment.getProperty(prefix + "rate", Double.class, defaultRate),
+					environment.getProperty(prefix + "burst", Integer.class, defaultBurst)));
+		}
+		return settings;
+	}
+	
+	/**
+	 * @param rate 초당 채워지는 토큰 수 (0 이하이면 제한하지 않습니다.)
+	 * @param burst 최대로 쌓이는 토큰 수 (쉬었다가 연달아 보낼 수 있는 요청 수)
+	 */
+	record Settings(double rate, int burst) {
+	}
+	
+	private static final class Buckets {
+		
+		private final long emissionIntervalNanos;
+		private final long toleranceNanos;
+		private final Cache<String, AtomicLong> cache;
+		private Counter rejected;
+		
+		private Buckets(Settings settings, long maximumSize, LongSupplier nanoTime) {
+			this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / settings.rate());
+			this.toleranceNanos = emissionIntervalNanos * Math.max(1, settings.burst());
+			this.cache = Caffeine.newBuilder()
+					.maximumSize(maximumSize)
+					.expireAfter(new Expiry<String, AtomicLong>() {
+						@Override
+						public long expireAfterCreate(String key, AtomicLong value, long currentTime) {
+							return toleranceNanos;
+						}
+						
+						@Override
+						public long expireAfterUpdate(String key, AtomicLong value, long currentTime, long currentDuration) {
+							return Math.max(currentDuration, toleranceNanos);
+						}
+						
+						@Override
+						public long expireAfterRead(String key, AtomicLong value, long currentTime, long currentDuration) {
+							return Math.max(currentDuration, toleranceNanos);
+						}
+					})
+					.ticker(nanoTime::getAsLong)
+					.build();
+		}
+		
+		/**
+		 * @return 허용했다면 0, 거절했다면 토큰이 충분히 채워질 때까지 남은 시간
+		 */
+		private long tryAcquire(String memberId, int permits, long now) {
+			// 처음 보는 회원은 가득 찬 버킷(이론상 시각이 아주 먼 과거)으로 시작합니다.
+			AtomicLong theoreticalArrival = cache.get(memberId, id -> new AtomicLong(Long.MIN_VALUE));
+			long increment = emissionIntervalNanos * permits;
+			// burst 보다 많이 요청하면 버킷이 가득 찼는지만 확인합니다.
+			long required = Math.min(increment, toleranceNanos);
+			while (true) {
+				long current = theoreticalArrival.get();
+				long start = Math.max(current, now);
+				long excess = start + required - now - toleranceNanos;
+				if (excess > 0) {
+					return excess;
+				}
+				long next = start + increment;
+				if (theoreticalArrival.compareAndSet(current, next)) {
+					if (next - now > toleranceNanos) {
+						// 당겨 쓴 토큰을 갚기 전에 버킷이 제거되어 가득 찬 상태로 다시 시작하지 않도록 합니다.
+						cache.policy().expireVariably().ifPresent(expiry -> expiry.setExpiresAfter(memberId, next - now, TimeUnit.NANOSECONDS));
+					}
+					return 0;
+				}
+			}
+		}
+		
+		private void refund(String memberId, int permits) {
+			AtomicLong theoreticalArrival = cache.getIfPresent(memberId);
+			if (theoreticalArrival != null) {
+				theoreticalArrival.addAndGet(-emissionIntervalNanos * permits);
+			}
+		}
+	}
+}
@@ -15,4 +15,5 @@ public class ArticleDetailDto {
 	private LocalDateTime createdAt;
 	private LocalDateTime updatedAt;
 	private String memberId;
+	private Long viewCount;
 }
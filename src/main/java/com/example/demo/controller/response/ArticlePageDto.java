@@ -0,0 +1,15 @@
+package com.example.demo.controller.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ArticlePageDto {
+
+	private List<ArticleListDto> articles;
+	private String nextCursor;
+	private long totalCount;
+}
@@ -0,0 +1,16 @@
+package com.example.demo.controller.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ArticleSearchResultDto {
+
+	private List<ArticleListDto> articles;
+	private Long totalCount;
+	private Integer page;
+	private Integer size;
+}
@@ -0,0 +1,13 @@
+package com.example.demo.controller.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CreateArticlesResponse {
+	
+	private List<Long> articleIds;
+}
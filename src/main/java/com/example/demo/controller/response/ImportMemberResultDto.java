@@ -0,0 +1,14 @@
+package com.example.demo.controller.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportMemberResultDto {
+
+	private Long line;
+	private String memberId;
+	private String status;
+	private String message;
+}
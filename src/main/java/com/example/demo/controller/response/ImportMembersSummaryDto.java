@@ -0,0 +1,14 @@
+package com.example.demo.controller.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportMembersSummaryDto {
+
+	private String status;
+	private Long created;
+	private Long duplicates;
+	private Long invalid;
+}
@@ -10,4 +10,5 @@ public class MemberDetailDto {
 	private String memberId;
 	private String nickname;
 	private Long age;
+	private Long articleCount;
 }
@@ -5,6 +5,8 @@ import java.util.Optional;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
 
 import com.example.demo.model.Article;
 
@@ -18,6 +20,53 @@ public interface ArticleMapper {
 	 */
 	List<Article> findAll();
 	
+	/**
+	 * 게시글의 수정 시각과 작성자 아이디만 조회합니다. 게시글이 바뀌었는지 확인할 때 본문을 읽지 않기 위해 사용합니다.
+	 * 
+	 * @param id 게시글 아이디
+	 * @return Optional 리턴 (id, updatedAt, memberId 만 채워집니다.)
+	 */
+	Optional<Article> findUpdatedAtAndMemberIdById(@Param("id") Long id);
+	
+	/**
+	 * 게시글 작성자 아이디만 조회합니다.
+	 * 
+	 * @param id 게시글 아이디
+	 * @return Optional 리턴 (작성자가 없는 게시글도 빈 값을 리턴합니다.)
+	 */
+	Optional<String> findMemberIdById(@Param("id") Long id);
+	
+	/**
+	 * article_counter 의 모든 stripe 를 더해 전체 게시글 수를 조회합니다.
+	 * 
+	 * @return 전체 게시글 수
+	 */
+	long countAll();
+	
+	/**
+	 * 모든 게시글을 아이디 오름차순으로 한 건씩 읽어오는 커서를 엽니다.
+	 * 커서는 트랜잭션(세션)이 열려 있는 동안에만 사용할 수 있습니다.
+	 * 
+	 * @return article cursor
+	 */
+	Cursor<Article> streamAll();
+	
+	/**
+	 * 검색 색인을 만들기 위해 모든 게시글의 아이디, 제목, 내용, 작성자를 한 건씩 읽어 전달합니다.
+	 * 
+	 * @param handler 게시글마다 호출되는 핸들러
+	 */
+	void scanForSearch(ResultHandler<Article> handler);
+	
+	/**
+	 * 게시글 아이디 기준 오름차순으로 한 페이지를 조회합니다.
+	 * 
+	 * @param after 이전 페이지의 마지막 게시글 아이디 (첫 페이지는 null)
+	 * @param size 조회할 최대 게시글 수
+	 * @return article list
+	 */
+	List<Article> findPage(@Param("after") Long after, @Param("size") int size);
+	
 	/**
 	 * 아이디에 해당하는 게시글을 조회합니다.
 	 * 
@@ -34,6 +83,17 @@ public interface ArticleMapper {
 	 */
 	List<Article> findByMemberId(@Param("memberId") String memberId);
 	
+	/**
+	 * 회원이 작성한 게시글을 최신순(아이디 내림차순)으로 한 페이지 조회합니다.
+	 * (member_id, article_id DESC) 복합 인덱스를 사용합니다.
+	 * 
+	 * @param memberId 조회 기준이 되는 회원 아이디
+	 * @param before 이전 페이지의 마지막 게시글 아이디 (첫 페이지는 null)
+	 * @param size 조회할 최대 게시글 수
+	 * @return article list
+	 */
+	List<Article> findPageByMemberId(@Param("memberId") String memberId, @Param("before") Long before, @Param("size") int size);
+	
 	/**
 	 * 게시글을 저장합니다.
 	 * 
@@ -50,6 +110,51 @@ public interface ArticleMapper {
 	 */
 	Long update(Article article);
 	
+	/**
+	 * 게시글의 제목, 내용, 수정 시각만 수정합니다.
+	 * 기존 게시글을 먼저 조회하지 않아도 되도록 나머지 컬럼은 건드리지 않습니다.
+	 * 작성자 아이디가 있으면 작성자가 같은 게시글만 수정합니다.
+	 * 
+	 * @param article 아이디, 제목, 내용, 수정 시각(, 작성자 아이디)을 담은 게시글 객체
+	 * @return 성공했을 경우 1L, 아이디(와 작성자)에 해당하는 게시글이 없을 경우 0L
+	 */
+	Long updateTitleAndContent(Article article);
+	
+	/**
+	 * 본문이 아직 압축 전 형식(content 컬럼)으로 남아 있는 게시글을 아이디 오름차순으로 한 페이지 조회합니다.
+	 * 
+	 * @param after 이전 페이지의 마지막 게시글 아이디 (처음에는 0)
+	 * @param size 조회할 최대 게시글 수
+	 * @return 아이디와 본문만 담은 article list
+	 */
+	List<Article> findLegacyContentPage(@Param("after") long after, @Param("size") int size);
+	
+	/**
+	 * 압축 전 형식으로 남아 있는 본문을 content_data 로 옮깁니다. (CompressedTextTypeHandler)
+	 * 
+	 * @param article 아이디와 본문을 담은 게시글 객체
+	 * @return 옮겼을 경우 1L, 그 사이 게시글이 수정되거나 삭제되어 옮길 필요가 없을 경우 0L
+	 */
+	Long migrateContent(Article article);
+	
+	/**
+	 * 게시글 조회수에 delta 를 더합니다. (수정 시각은 바꾸지 않습니다.)
+	 * 
+	 * @param id 게시글 아이디
+	 * @param delta 더할 조회수
+	 * @return 성공했을 경우 1L, 게시글이 존재하지 않을 경우 0L
+	 */
+	Long addViewCount(@Param("id") Long id, @Param("delta") long delta);
+	
+	/**
+	 * 전체 게시글 수 중 한 stripe 에 delta 를 더합니다.
+	 * 
+	 * @param stripe 더할 stripe (0 ~ ArticleCounter.STRIPES - 1)
+	 * @param delta 더할 값 (삭제는 음수)
+	 * @return 성공했을 경우 1L, 실패했을 경우 0L
+	 */
+	Long addToCount(@Param("stripe") int stripe, @Param("delta") long delta);
+	
 	/**
 	 * 아이디에 해당하는 게시글을 삭제합니다.
 	 * 
@@ -58,6 +163,33 @@ public interface ArticleMapper {
 	 */
 	Long deleteById(@Param("id") Long id);
 	
+	/**
+	 * 아이디와 작성자에 해당하는 게시글을 삭제합니다.
+	 * 
+	 * @param id 게시글 아이디
+	 * @param memberId 작성자 아이디 (null 이면 작성자를 확인하지 않습니다.)
+	 * @return 성공했을 경우 1L, 실패했을 경우 0L
+	 */
+	Long deleteByIdAndMemberId(@Param("id") Long id, @Param("memberId") String memberId);
+	
+	/**
+	 * 회원이 작성한 게시글을 모두 삭제합니다.
+	 * (주 DB 에서는 회원을 삭제하면 ON DELETE CASCADE 로 함께 삭제되지만, 샤드에는 FK 가 없어서 직접 삭제해야 합니다.)
+	 * 
+	 * @param memberId 작성자 아이디
+	 * @return 삭제된 게시글 갯수를 반환합니다.
+	 */
+	Long deleteByMemberId(@Param("memberId") String memberId);
+	
+	/**
+	 * 회원이 작성한 게시글을 최대 size 개 삭제합니다. 게시글이 많은 회원을 여러 트랜잭션에 나눠 지울 때 사용합니다.
+	 * 
+	 * @param memberId 작성자 아이디
+	 * @param size 삭제할 최대 게시글 수
+	 * @return 삭제된 게시글 갯수를 반환합니다. (size 보다 작으면 남은 게시글이 없습니다.)
+	 */
+	Long deleteChunkByMemberId(@Param("memberId") String memberId, @Param("size") int size);
+	
 	/**
 	 * 모든 게시글 삭제
 	 * 
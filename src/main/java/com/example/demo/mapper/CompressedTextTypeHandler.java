@@ -0,0 +1,135 @@
+package com.example.demo.mapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * 긴 문자열을 압축해서 BLOB 컬럼에 저장하고, 읽을 때 풀어서 돌려줍니다. (article.content_data)
+ * 
+ * 저장 형식은 첫 바이트로 구분합니다.
+ * - 0xFF 로 시작하면 [0xFF, 코덱, 원래 길이(4바이트), 압축된 본문] 입니다. 0xFF 는 UTF-8 에 나오지 않는 바이트입니다.
+ * - 그 외에는 압축하지 않은 UTF-8 바이트입니다. 짧아서 압축해도 줄지 않는 문자열과 기존 TEXT 컬럼에서 읽은 값이 여기에 해당합니다.
+ * 
+ * 코덱은 지금은 DEFLATE 하나이고, 쓰기 경로에서 실행되므로 가장 빠른 압축 수준을 사용합니다.
+ * 다른 코덱을 추가하더라도 이미 저장된 값은 코덱 번호로 계속 읽을 수 있습니다.
+ */
+public class CompressedTextTypeHandler extends BaseTypeHandler<String> {
+	
+	static final byte HEADER = (byte) 0xFF;
+	static final byte CODEC_DEFLATE = 1;
+	
+	/**
+	 * 이보다 짧은 문자열은 압축하지 않습니다. (압축으로 줄어드는 양보다 헤더와 CPU 비용이 큽니다.)
+	 */
+	static final int MIN_COMPRESS_BYTES = 256;
+	
+	private static final int HEADER_BYTES = 6;
+	/**
+	 * deflate 가 줄일 수 있는 최대 비율입니다. 헤더에 적힌 원래 길이가 압축된 길이의 이 배수를 넘으면 손상된 값입니다.
+	 */
+	private static final long MAX_DEFLATE_RATIO = 1032;
+	
+	@Override
+	public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType) throws SQLException {
+		ps.setBytes(i, encode(parameter));
+	}
+	
+	@Override
+	public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+		return decode(rs.getBytes(columnName));
+	}
+	
+	@Override
+	public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+		return decode(rs.getBytes(columnIndex));
+	}
+	
+	@Override
+	public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+		return decode(cs.getBytes(columnIndex));
+	}
+	
+	/**
+	 * @param text 저장할 문자열
+	 * @return 저장 형식으로 바꾼 바이트 (압축해도 줄지 않으면 UTF-8 바이트 그대로)
+	 */
+	public static byte[] encode(String text) {
+		byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+		if (raw.length < MIN_COMPRESS_BYTES) {
+			return raw;
+		}
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(raw);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2);
+			out.write(HEADER);
+			out.write(CODEC_DEFLATE);
+			out.writeBytes(ByteBuffer.allocate(4).putInt(raw.length).array());
+			byte[] buffer = new byte[Math.min(raw.length, 8192)];
+			while (!deflater.finished()) {
+				out.write(buffer, 0, deflater.deflate(buffer));
+				if (out.size() >= raw.length) {
+					return raw;
+				}
+			}
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+	
+	/**
+	 * @param stored 저장된 바이트
+	 * @return 원래 문자열
+	 * @throws IllegalStateException 알 수 없는 코덱이거나 압축된 본문이 손상된 경우 예외를 발생시킵니다.
+	 */
+	public static String decode(byte[] stored) {
+		if (stored == null) {
+			return null;
+		}
+		if (stored.length == 0 || stored[0] != HEADER) {
+			return new String(stored, StandardCharsets.UTF_8);
+		}
+		if (stored.length < HEADER_BYTES || stored[1] != CODEC_DEFLATE) {
+			throw new IllegalStateException("알 수 없는 본문 저장 형식입니다.");
+		}
+		int rawLength = ByteBuffer.wrap(stored, 2, 4).getInt();
+		// 길이를 믿고 배열을 만들기 전에 확인합니다. (손상된 헤더로 큰 배열을 만들지 않도록)
+		if (rawLength < 0 || rawLength > (stored.length - HEADER_BYTES) * MAX_DEFLATE_RATIO) {
+			throw new IllegalStateException("압축된 본문이 손상되었습니다.");
+		}
+		byte[] raw = new byte[rawLength];
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(stored, HEADER_BYTES, stored.length - HEADER_BYTES);
+			int length = 0;
+			while (length < raw.length && !inflater.finished()) {
+				int inflated = inflater.inflate(raw, length, raw.length - length);
+				if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				length += inflated;
+			}
+			if (length != raw.length) {
+				throw new IllegalStateException("압축된 본문이 손상되었습니다.");
+			}
+			return new String(raw, StandardCharsets.UTF_8);
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("압축된 본문이 손상되었습니다.", e);
+		} finally {
+			inflater.end();
+		}
+	}
+}
@@ -1,10 +1,12 @@
 package com.example.demo.mapper;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.dao.DuplicateKeyException;
 
 import com.example.demo.model.Member;
@@ -27,6 +29,55 @@ public interface MemberMapper {
 	 */
 	Optional<Member> findById(@Param("id") String id);
 	
+	/**
+	 * 회원이 작성한 게시글 수를 조회합니다.
+	 * 
+	 * @param id 회원 아이디
+	 * @return 성공 시 Optional 리턴
+	 */
+	Optional<Long> findArticleCountById(@Param("id") String id);
+	
+	/**
+	 * 회원이 작성한 게시글 수를 조회하면서 회원 행을 잠급니다.
+	 * 잠근 뒤에는 다른 트랜잭션이 이 회원의 게시글 수를 바꿀 수 없으므로, 회원 삭제 직전에 사용합니다.
+	 * 삭제 중(deleted_at)인 회원도 조회합니다.
+	 * 
+	 * @param id 회원 아이디
+	 * @return 성공 시 Optional 리턴
+	 */
+	Optional<Long> findArticleCountByIdForUpdate(@Param("id") String id);
+	
+	/**
+	 * 아이디에 해당하는 회원이 존재하는지 확인합니다.
+	 * 회원 정보를 읽지 않고 존재 여부만 조회합니다.
+	 * 
+	 * @param id 회원 아이디
+	 * @return 존재할 경우 true
+	 */
+	boolean existsById(@Param("id") String id);
+	
+	/**
+	 * 주어진 아이디 중 실제로 존재하는 회원 아이디만 한 번의 쿼리로 조회합니다.
+	 * 
+	 * @param ids 확인할 회원 아이디 목록 (비어 있으면 안 됩니다.)
+	 * @return 존재하는 회원 아이디 list
+	 */
+	List<String> findExistingIds(@Param("ids") Collection<String> ids);
+	
+	/**
+	 * 삭제를 요청했지만 아직 게시글을 지우는 중인 회원 아이디를 요청한 순서대로 조회합니다.
+	 * 
+	 * @return 삭제 중인 회원 아이디 list
+	 */
+	List<String> findDeletedIds();
+	
+	/**
+	 * 모든 회원 아이디를 한 건씩 읽어 전달합니다.
+	 * 
+	 * @param handler 회원 아이디마다 호출되는 핸들러
+	 */
+	void scanIds(ResultHandler<String> handler);
+	
 	/**
 	 * 회원을 저장합니다.
 	 * 
@@ -44,6 +95,23 @@ public interface MemberMapper {
 	 */
 	Long update(Member member);
 	
+	/**
+	 * 회원이 작성한 게시글 수에 delta 를 더합니다.
+	 * 
+	 * @param id 회원 아이디
+	 * @param delta 더할 값 (삭제는 음수)
+	 * @return 성공했을 경우 1L, 회원이 존재하지 않을 경우 0L
+	 */
+	Long addArticleCount(@Param("id") String id, @Param("delta") long delta);
+	
+	/**
+	 * 회원을 삭제 중으로 표시합니다. 표시한 회원은 조회되지 않으며, 게시글을 모두 지운 뒤 purgeById 로 삭제합니다.
+	 * 
+	 * @param id 회원 아이디
+	 * @return 성공했을 경우 1L, 회원이 존재하지 않거나 이미 삭제 중일 경우 0L
+	 */
+	Long markDeleted(@Param("id") String id);
+	
 	/**
 	 * 아이디에 해당하는 회원을 삭제합니다.
 	 * 
@@ -52,6 +120,14 @@ public interface MemberMapper {
 	 */
 	Long deleteById(@Param("id") String id);
 	
+	/**
+	 * 삭제 중으로 표시된 회원을 삭제합니다.
+	 * 
+	 * @param id 회원 아이디
+	 * @return 성공했을 경우 1L, 삭제 중인 회원이 아닐 경우 0L
+	 */
+	Long purgeById(@Param("id") String id);
+	
 	/**
 	 * 모든 회원 삭제
 	 * 
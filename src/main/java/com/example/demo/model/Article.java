@@ -14,4 +14,5 @@ public class Article {
 	private LocalDateTime createdAt;
 	private LocalDateTime updatedAt;
 	private String memberId;
+	private Long viewCount;
 }
@@ -0,0 +1,19 @@
+package com.example.demo.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ArticlePage {
+	
+	private List<Article> articles;
+	private Long nextArticleId;
+	private long totalCount;
+	
+	public boolean hasNext() {
+		return nextArticleId != null;
+	}
+}
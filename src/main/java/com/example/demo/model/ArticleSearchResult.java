@@ -0,0 +1,14 @@
+package com.example.demo.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ArticleSearchResult {
+	
+	private List<Article> articles;
+	private long totalCount;
+}
@@ -0,0 +1,18 @@
+package com.example.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MemberImportResult {
+	
+	public enum Status {
+		CREATED, DUPLICATE, INVALID
+	}
+	
+	private long line;
+	private String memberId;
+	private Status status;
+	private String message;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.model;
+
+import lombok.Getter;
+
+@Getter
+public class MemberImportSummary {
+	
+	private long created;
+	private long duplicates;
+	private long invalid;
+	
+	public void count(MemberImportResult.Status status) {
+		switch (status) {
+			case CREATED -> created++;
+			case DUPLICATE -> duplicates++;
+			case INVALID -> invalid++;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.example.demo.monitoring;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 매퍼 구문(MappedStatement)마다 실행 시간, 처리한 행 수, 실패 횟수를 Micrometer 로 기록합니다.
+ * 
+ * 지표 이름은 mybatis.statement(.rows/.errors) 이고 statement 태그에 구문 아이디가 들어갑니다.
+ * (예: com.example.demo.mapper.ArticleMapper.findAll)
+ * 실행 시간은 percentile 을 계산하지 않고 mybatis.metrics.buckets 에 정한 구간별 개수만 세므로 기록 비용이 작습니다.
+ * 구문마다 만든 지표는 캐싱해서 실행할 때마다 레지스트리를 조회하지 않습니다.
+ */
+@Component
+@Intercepts({
+	@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+	@Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+	@Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+	@Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class StatementMetrics implements Interceptor {
+	
+	private final MeterRegistry meterRegistry;
+	private final Duration[] buckets;
+	private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+	
+	public StatementMetrics(
+			MeterRegistry meterRegistry,
+			@Value("${mybatis.metrics.buckets:1ms,5ms,10ms,25ms,50ms,100ms,250ms,500ms,1s}") Duration[] buckets) {
+		this.meterRegistry = meterRegistry;
+		this.buckets = buckets;
+	}
+	
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+		String type = invocation.getMethod().getName();
+		Meters statementMeters = meters.computeIfAbsent(statement.getId() + ":" + type, key -> new Meters(statement.getId(), type));
+		long startedAt = System.nanoTime();
+		try {
+			Object result = invocation.proceed();
+			statementMeters.success.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+			long rows = rowCount(result);
+			if (statementMeters.rows != null && rows >= 0) {
+				statementMeters.rows.record(rows);
+			}
+			return result;
+		} catch (Throwable e) {
+			statementMeters.failure.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+			Counter.builder("mybatis.statement.errors")
+					.description("매퍼 구문 실행 실패 횟수")
+					.tag("statement", statement.getId())
+					.tag("type", type)
+					.tag("exception", rootCause(e).getClass().getSimpleName())
+					.register(meterRegistry)
+					.increment();
+			throw e;
+		}
+	}
+	
+	/**
+	 * BATCH 실행기의 update 는 실제 행 수 대신 음수를 돌려주므로, 이 경우 -1 을 돌려주고 기록하지 않습니다.
+	 */
+	private static long rowCount(Object result) {
+		if (result instanceof Collection<?> rows) {
+			return rows.size();
+		}
+		if (result instanceof Number affectedRows) {
+			return Math.max(-1, affectedRows.longValue());
+		}
+		return 0;
+	}
+	
+	private static Throwable rootCause(Throwable e) {
+		Throwable cause = e;
+		while (cause.getCause() != null && cause.getCause() != cause) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+	
+	private class Meters {
+		
+		private final Timer success;
+		private final Timer failure;
+		private final DistributionSummary rows;
+		
+		private Meters(String statementId, String type) {
+			this.success = timer(statementId, type, "success");
+			this.failure = timer(statementId, type, "error");
+			// 커서는 실행 시점에 읽은 행이 없으므로 행 수를 기록하지 않습니다.
+			this.rows = type.equals("queryCursor") ? null : DistributionSummary.builder("mybatis.statement.rows")
+					.description("매퍼 구문이 조회하거나 변경한 행 수")
+					.tag("statement", statementId)
+					.tag("type", type)
+					.register(meterRegistry);
+		}
+		
+		private Timer timer(String statementId, String type, String outcome) {
+			return Timer.builder("mybatis.statement")
+					.description("매퍼 구문 실행 시간")
+					.tag("statement", statementId)
+					.tag("type", type)
+					.tag("outcome", outcome)
+					.serviceLevelObjectives(buckets)
+					.register(meterRegistry);
+		}
+	}
+}
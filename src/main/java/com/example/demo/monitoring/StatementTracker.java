@@ -0,0 +1,308 @@
+package com.example.demo.monitoring;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HTTP 요청마다 실행된 매퍼 구문을 세고, 느린 구문과 같은 구문의 반복 실행(N+1)을 찾아냅니다.
+ * 
+ * mybatis.tracking.slow-threshold 보다 오래 걸린 구문은 SQL, 바인딩된 파라미터, 실행 계획(EXPLAIN)과 함께 로그로 남깁니다.
+ * 한 요청에서 같은 구문이 mybatis.tracking.repeat-threshold 번보다 많이 실행되면 N+1 로 보고 로그로 남깁니다.
+ * 모아진 통계는 /actuator/statements 에서 볼 수 있습니다.
+ * 
+ * 요청 단위 추적은 StatementTrackingFilter 가 begin 을 호출한 스레드와 propagate 로 감싼 작업에서만 동작하므로,
+ * StreamingResponseBody 처럼 그 밖의 스레드에서 실행되는 구문은 느린 구문 로그에만 남습니다.
+ */
+@Slf4j
+@Component
+@Intercepts({
+	@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+	@Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+	@Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+	@Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class StatementTracker implements Interceptor {
+	
+	private static final int RECENT_SLOW_QUERIES = 50;
+	
+	private final long slowThresholdNanos;
+	private final boolean explain;
+	private final int repeatThreshold;
+	
+	private final ThreadLocal<RequestStatements> current = new ThreadLocal<>();
+	private final Map<String, RequestStats> requestStats = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> slowCounts = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedDeque<Map<String, Object>> recentSlowQueries = new ConcurrentLinkedDeque<>();
+	
+	public StatementTracker(
+			@Value("${mybatis.tracking.slow-threshold:200ms}") Duration slowThreshold,
+			@Value("${mybatis.tracking.explain:true}") boolean explain,
+			@Value("${mybatis.tracking.repeat-threshold:10}") int repeatThreshold) {
+		this.slowThresholdNanos = slowThreshold.toNanos();
+		this.explain = explain;
+		this.repeatThreshold = repeatThreshold;
+	}
+	
+	/**
+	 * 현재 스레드에서 요청 단위 추적을 시작합니다.
+	 * 
+	 * @param request 로그에 남길 요청 설명 (예: GET /api/v1/articles)
+	 * @return end 에 넘겨줄 추적 정보
+	 */
+	public RequestStatements begin(String request) {
+		RequestStatements statements = new RequestStatements(request);
+		current.set(statements);
+		return statements;
+	}
+	
+	/**
+	 * 현재 스레드에서 요청 단위 추적을 멈춥니다. 통계에는 end 를 호출해야 반영됩니다.
+	 */
+	public void detach() {
+		current.remove();
+	}
+	
+	/**
+	 * 작업을 제출한 스레드의 추적 정보를 작업을 실행하는 스레드에서도 사용하도록 감쌉니다.
+	 * (비동기 서비스 호출에서 실행된 구문도 요청에 포함하기 위해 TaskDecorator 로 사용합니다.)
+	 * 
+	 * @param task 다른 스레드에서 실행될 작업
+	 * @return 추적 정보를 전달하는 작업
+	 */
+	public Runnable propagate(Runnable task) {
+		RequestStatements statements = current.get();
+		if (statements == null) {
+			return task;
+		}
+		return () -> {
+			RequestStatements previous = current.get();
+			current.set(statements);
+			try {
+				task.run();
+			} finally {
+				if (previous != null) {
+					current.set(previous);
+				} else {
+					current.remove();
+				}
+			}
+		};
+	}
+	
+	/**
+	 * 요청 단위 추적을 끝내고 통계에 반영합니다.
+	 * 
+	 * @param statements begin 이 돌려준 추적 정보
+	 * @param handler 통계를 모을 기준 (예: GET /api/v1/members/{memberId}/articles)
+	 * @return 반복 실행 기준을 넘은 구문 아이디와 실행 횟수
+	 */
+	public Map<String, Integer> end(RequestStatements statements, String handler) {
+		Map<String, Integer> repeated = new TreeMap<>();
+		statements.counts.forEach((statementId, count) -> {
+			if (count.get() > repeatThreshold) {
+				repeated.put(statementId, count.get());
+			}
+		});
+		RequestStats stats = requestStats.computeIfAbsent(handler, h -> new RequestStats());
+		stats.record(statements.total.get(), repeated);
+		if (!repeated.isEmpty()) {
+			log.warn("N+1 suspected in {}: {}", statements.request, repeated);
+		}
+		return repeated;
+	}
+	
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+		RequestStatements statements = current.get();
+		if (statements != null) {
+			statements.count(statement.getId());
+		}
+		long startedAt = System.nanoTime();
+		Object result = invocation.proceed();
+		long elapsed = System.nanoTime() - startedAt;
+		if (elapsed >= slowThresholdNanos) {
+			logSlowQuery(invocation, statement, elapsed, statements);
+		}
+		return result;
+	}
+	
+	/**
+	 * @return 요청별 구문 실행 통계, 구문별 느린 실행 횟수, 최근 느린 구문
+	 */
+	public Map<String, Object> snapshot() {
+		Map<String, Object> requests = new TreeMap<>();
+		requestStats.forEach((handler, stats) -> requests.put(handler, stats.snapshot()));
+		Map<String, Long> slow = new TreeMap<>();
+		slowCounts.forEach((statementId, count) -> slow.put(statementId, count.sum()));
+		
+		Map<String, Object> snapshot = new LinkedHashMap<>();
+		snapshot.put("repeatThreshold", repeatThreshold);
+		snapshot.put("slowThresholdMs", TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos));
+		snapshot.put("requests", requests);
+		snapshot.put("slowQueries", slow);
+		snapshot.put("recentSlowQueries", new ArrayList<>(recentSlowQueries));
+		return snapshot;
+	}
+	
+	private void logSlowQuery(Invocation invocation, MappedStatement statement, long elapsed, RequestStatements statements) {
+		Object parameter = invocation.getArgs()[1];
+		BoundSql boundSql = invocation.getArgs().length == 6
+				? (BoundSql) invocation.getArgs()[5]
+				: statement.getBoundSql(parameter);
+		List<Object> parameters = parameters(statement.getConfiguration(), boundSql, parameter);
+		String sql = boundSql.getSql().replaceAll("\\s+", " ").trim();
+		String plan = explain ? explain((Executor) invocation.getTarget(), sql, parameters) : null;
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsed);
+		String request = statements != null ? statements.request : null;
+		log.warn("slow statement {} took {} ms in {}\n  sql: {}\n  parameters: {}\n  plan: {}",
+				statement.getId(), elapsedMs, request, sql, parameters, plan);
+		
+		slowCounts.computeIfAbsent(statement.getId(), id -> new LongAdder()).increment();
+		Map<String, Object> entry = new LinkedHashMap<>();
+		entry.put("at", LocalDateTime.now().toString());
+		entry.put("statement", statement.getId());
+		entry.put("elapsedMs", elapsedMs);
+		entry.put("request", request);
+		entry.put("sql", sql);
+		entry.put("parameters", parameters.stream().map(String::valueOf).toList());
+		entry.put("plan", plan);
+		recentSlowQueries.addFirst(entry);
+		while (recentSlowQueries.size() > RECENT_SLOW_QUERIES) {
+			recentSlowQueries.pollLast();
+		}
+	}
+	
+	/**
+	 * MyBatis 의 DefaultParameterHandler 와 같은 방식으로 바인딩된 값을 꺼냅니다. 비밀번호는 가립니다.
+	 */
+	private static List<Object> parameters(Configuration configuration, BoundSql boundSql, Object parameter) {
+		List<Object> values = new ArrayList<>();
+		for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+			if (mapping.getMode() == ParameterMode.OUT) {
+				continue;
+			}
+			String property = mapping.getProperty();
+			Object value;
+			if (boundSql.hasAdditionalParameter(property)) {
+				value = boundSql.getAdditionalParameter(property);
+			} else if (parameter == null) {
+				value = null;
+			} else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+				value = parameter;
+			} else {
+				value = configuration.newMetaObject(parameter).getValue(property);
+			}
+			values.add(property.toLowerCase().contains("password") ? "****" : value);
+		}
+		return values;
+	}
+	
+	private static String explain(Executor executor, String sql, List<Object> parameters) {
+		try {
+			Connection connection = executor.getTransaction().getConnection();
+			try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+				for (int i = 0; i < parameters.size(); i++) {
+					explain.setObject(i + 1, parameters.get(i));
+				}
+				StringBuilder plan = new StringBuilder();
+				try (ResultSet rs = explain.executeQuery()) {
+					while (rs.next()) {
+						plan.append(rs.getString(1).replaceAll("\\s+", " ").trim());
+					}
+				}
+				return plan.toString();
+			}
+		} catch (SQLException | RuntimeException e) {
+			return "EXPLAIN failed: " + e.getMessage();
+		}
+	}
+	
+	/**
+	 * 요청 하나에서 실행된 구문 수입니다. 비동기 처리 중에는 여러 스레드가 함께 기록할 수 있습니다.
+	 */
+	public static final class RequestStatements {
+		
+		private final String request;
+		private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+		private final AtomicInteger total = new AtomicInteger();
+		
+		private RequestStatements(String request) {
+			this.request = request;
+		}
+		
+		private void count(String statementId) {
+			counts.computeIfAbsent(statementId, id -> new AtomicInteger()).incrementAndGet();
+			total.incrementAndGet();
+		}
+	}
+	
+	private static class RequestStats {
+		
+		private final LongAdder requests = new LongAdder();
+		private final LongAdder statements = new LongAdder();
+		private final LongAccumulator maxStatements = new LongAccumulator(Long::max, 0);
+		private final LongAdder repeatedRequests = new LongAdder();
+		private final Map<String, LongAccumulator> maxRepeats = new ConcurrentHashMap<>();
+		
+		private void record(int statementCount, Map<String, Integer> repeated) {
+			requests.increment();
+			statements.add(statementCount);
+			maxStatements.accumulate(statementCount);
+			if (!repeated.isEmpty()) {
+				repeatedRequests.increment();
+				repeated.forEach((statementId, count) -> maxRepeats
+						.computeIfAbsent(statementId, id -> new LongAccumulator(Long::max, 0))
+						.accumulate(count));
+			}
+		}
+		
+		private Map<String, Object> snapshot() {
+			long requestCount = requests.sum();
+			Map<String, Long> repeats = new TreeMap<>();
+			maxRepeats.forEach((statementId, max) -> repeats.put(statementId, max.get()));
+			
+			Map<String, Object> snapshot = new LinkedHashMap<>();
+			snapshot.put("requests", requestCount);
+			snapshot.put("statements", statements.sum());
+			snapshot.put("averageStatements", requestCount == 0 ? 0 : (double) statements.sum() / requestCount);
+			snapshot.put("maxStatements", maxStatements.get());
+			snapshot.put("repeatedRequests", repeatedRequests.sum());
+			snapshot.put("maxRepeats", repeats);
+			return snapshot;
+		}
+	}
+}
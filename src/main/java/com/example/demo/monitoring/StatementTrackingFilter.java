@@ -0,0 +1,64 @@
+package com.example.demo.monitoring;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.example.demo.monitoring.StatementTracker.RequestStatements;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 요청 하나를 처리하는 동안 실행된 매퍼 구문을 StatementTracker 로 추적합니다.
+ * 통계는 URL 그대로가 아니라 매핑된 경로 패턴 기준으로 모읍니다.
+ * 비동기로 처리되는 요청은 응답이 끝났을 때 통계에 반영합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatementTrackingFilter extends OncePerRequestFilter {
+	
+	private final StatementTracker statementTracker;
+	
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		RequestStatements statements = statementTracker.begin(request.getMethod() + " " + request.getRequestURI());
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			statementTracker.detach();
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			String handler = request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new AsyncListener() {
+					@Override
+					public void onComplete(AsyncEvent event) {
+						statementTracker.end(statements, handler);
+					}
+					
+					@Override
+					public void onTimeout(AsyncEvent event) {
+					}
+					
+					@Override
+					public void onError(AsyncEvent event) {
+					}
+					
+					@Override
+					public void onStartAsync(AsyncEvent event) {
+					}
+				});
+			} else {
+				statementTracker.end(statements, handler);
+			}
+		}
+	}
+}
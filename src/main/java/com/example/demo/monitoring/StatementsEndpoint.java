@@ -0,0 +1,25 @@
+package com.example.demo.monitoring;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * /actuator/statements 에서 요청별 구문 실행 횟수, N+1 의심 요청, 느린 구문을 보여줍니다.
+ */
+@Component
+@Endpoint(id = "statements")
+@RequiredArgsConstructor
+public class StatementsEndpoint {
+	
+	private final StatementTracker statementTracker;
+	
+	@ReadOperation
+	public Map<String, Object> statements() {
+		return statementTracker.snapshot();
+	}
+}
@@ -0,0 +1,49 @@
+package com.example.demo.service;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 게시글 작성자 아이디를 캐싱합니다.
+ * 게시글의 작성자는 바뀌지 않고 게시글 아이디도 다시 쓰이지 않으므로 TTL 없이 크기로만 제한합니다.
+ * 삭제된 게시글의 항목이 남아 있더라도, 수정/삭제 문장이 게시글 아이디와 작성자로 행을 찾으므로 결과는 달라지지 않습니다.
+ * 존재하지 않거나 작성자가 없는 게시글은 캐싱하지 않습니다.
+ */
+@Component
+public class ArticleAuthorCache {
+	
+	private final ArticleMapper articleMapper;
+	private final Cache<Long, String> cache;
+	
+	public ArticleAuthorCache(
+			ArticleMapper articleMapper,
+			@Value("${articles.author-cache.maximum-size:100000}") long maximumSize) {
+		this.articleMapper = articleMapper;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.build();
+	}
+	
+	/**
+	 * 게시글 작성자 아이디를 캐시에서 찾고, 없으면 DB 에서 조회해 캐싱합니다.
+	 * 
+	 * @param articleId 게시글 아이디
+	 * @return 게시글이 존재하고 작성자가 있을 경우 작성자 아이디
+	 */
+	public Optional<String> find(Long articleId) {
+		return Optional.ofNullable(cache.get(articleId, id -> articleMapper.findMemberIdById(id).orElse(null)));
+	}
+	
+	/**
+	 * @param articleId 삭제된 게시글 아이디
+	 */
+	public void evict(Long articleId) {
+		cache.invalidate(articleId);
+	}
+}
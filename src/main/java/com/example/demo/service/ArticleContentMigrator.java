@@ -0,0 +1,109 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.example.demo.model.Article;
+import com.example.demo.sharding.ArticleShards;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 압축을 도입하기 전에 저장된 게시글 본문(content)을 조금씩 content_data 로 옮깁니다. (CompressedTextTypeHandler)
+ * 
+ * articles.content-migration.interval 마다 DB(샤드를 사용하면 샤드마다)에서 articles.content-migration.chunk-size 개씩 읽어
+ * 압축해서 쓰고 커밋합니다. 한 트랜잭션에서 모두 옮기지 않으므로 다른 쓰기를 오래 막지 않습니다.
+ * 옮긴 게시글은 content 가 NULL 이 되므로, 도중에 애플리케이션을 다시 시작해도 남은 게시글부터 이어서 옮깁니다.
+ * 
+ * 새 게시글과 수정된 게시글은 처음부터 content_data 에 저장되므로, 한 번 끝까지 옮긴 DB 는 다시 확인하지 않습니다.
+ * articles.content-migration.enabled=false 로 끌 수 있고, 그래도 옮겨지지 않은 게시글은 그대로 읽을 수 있습니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "articles.content-migration.enabled", matchIfMissing = true)
+public class ArticleContentMigrator {
+	
+	private final List<Progress> progresses = new ArrayList<>();
+	private final TransactionTemplate transactionTemplate;
+	private final int chunkSize;
+	private final Counter migrated;
+	
+	public ArticleContentMigrator(
+			ArticleShards articleShards,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			@Value("${articles.content-migration.chunk-size:200}") int chunkSize) {
+		articleShards.sqlSessionFactories().forEach(sqlSessionFactory -> progresses.add(new Progress(sqlSessionFactory)));
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = chunkSize;
+		this.migrated = Counter.builder("articles.content_migration.migrated")
+				.description("압축 형식으로 옮긴 게시글 본문 수")
+				.register(meterRegistry);
+	}
+	
+	/**
+	 * 아직 옮기지 않은 게시글이 남은 DB 마다 한 묶음씩 옮깁니다.
+	 * 
+	 * @return 옮긴 게시글 수
+	 */
+	@Scheduled(fixedDelayString = "${articles.content-migration.interval:PT1S}")
+	public synchronized int migrateChunk() {
+		int total = 0;
+		for (Progress progress : progresses) {
+			if (progress.done) {
+				continue;
+			}
+			try {
+				List<Article> chunk = transactionTemplate.execute(status -> migrate(progress));
+				if (chunk.isEmpty()) {
+					progress.done = true;
+					log.info("finished migrating article contents, last article id {}", progress.after);
+					continue;
+				}
+				progress.after = chunk.get(chunk.size() - 1).getId();
+				migrated.increment(chunk.size());
+				total += chunk.size();
+			} catch (RuntimeException e) {
+				log.warn("failed to migrate article contents after id {}, will retry", progress.after, e);
+			}
+		}
+		return total;
+	}
+	
+	private List<Article> migrate(Progress progress) {
+		try (SqlSession batchSession = progress.sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+			ArticleMapper batchMapper = batchSession.getMapper(ArticleMapper.class);
+			List<Article> chunk = batchMapper.findLegacyContentPage(progress.after, chunkSize);
+			chunk.forEach(batchMapper::migrateContent);
+			batchSession.flushStatements();
+			return chunk;
+		}
+	}
+	
+	/**
+	 * DB 하나의 진행 상황 (마지막으로 옮긴 게시글 아이디)
+	 */
+	private static final class Progress {
+		
+		private final SqlSessionFactory sqlSessionFactory;
+		private long after;
+		private boolean done;
+		
+		private Progress(SqlSessionFactory sqlSessionFactory) {
+			this.sqlSessionFactory = sqlSessionFactory;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.demo.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.example.demo.mapper.MemberMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 회원별 게시글 수(member.article_count)와 전체 게시글 수(article_counter)를 관리합니다.
+ * 게시글을 등록/삭제하는 트랜잭션 안에서 호출해야 게시글과 개수가 함께 커밋되거나 롤백됩니다.
+ * 
+ * 전체 게시글 수는 STRIPES 개의 행 중 임의의 한 행에만 더하므로, 동시에 게시글을 등록하는 트랜잭션이
+ * 한 행의 잠금을 두고 줄을 서지 않습니다. (data_init.sql 의 article_counter 행 수와 같아야 합니다.)
+ * 
+ * 회원 행과 게시글 행을 함께 잠그는 경우에는 회원 행을 먼저 잠가야 합니다.
+ * 회원을 삭제하면 ON DELETE CASCADE 가 회원 행을 잠근 뒤 게시글 행을 지우므로, 같은 순서를 지켜야 교착 상태가 생기지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleCounter {
+	
+	static final int STRIPES = 16;
+	
+	private final ArticleMapper articleMapper;
+	private final MemberMapper memberMapper;
+	private final MemberCache memberCache;
+	
+	/**
+	 * @return 전체 게시글 수
+	 */
+	public long total() {
+		return articleMapper.countAll();
+	}
+	
+	/**
+	 * @param memberId 회원 아이디
+	 * @return 회원이 작성한 게시글 수 (회원이 없으면 0)
+	 */
+	public long count(String memberId) {
+		return memberMapper.findArticleCountById(memberId).orElse(0L);
+	}
+	
+	/**
+	 * 회원의 게시글 수와 전체 게시글 수에 delta 를 더합니다.
+	 * 
+	 * @param memberId 회원 아이디
+	 * @param delta 더할 값 (삭제는 음수)
+	 * @return 회원이 존재하지 않아 더하지 못했을 경우 false
+	 */
+	public boolean add(String memberId, long delta) {
+		return addAll(Map.of(memberId, delta));
+	}
+	
+	/**
+	 * 여러 회원의 게시글 수와 전체 게시글 수를 한 번에 더합니다.
+	 * 교착 상태를 피하기 위해 회원 행은 아이디 순서로 잠급니다.
+	 * 
+	 * @param deltas 회원 아이디별로 더할 값
+	 * @return 존재하지 않는 회원이 있어 더하지 못했을 경우 false (앞서 더한 값이 남아 있으므로 호출한 쪽에서 롤백해야 합니다.)
+	 */
+	public boolean addAll(Map<String, Long> deltas) {
+		long total = 0;
+		for (Map.Entry<String, Long> delta : new TreeMap<>(deltas).entrySet()) {
+			if (memberMapper.addArticleCount(delta.getKey(), delta.getValue()).equals(0L)) {
+				return false;
+			}
+			memberCache.addArticleCount(delta.getKey(), delta.getValue());
+			total += delta.getValue();
+		}
+		addTotal(total);
+		return true;
+	}
+	
+	/**
+	 * 전체 게시글 수에만 delta 를 더합니다. (회원 삭제로 게시글이 함께 삭제될 때 사용합니다.)
+	 * 
+	 * @param delta 더할 값 (삭제는 음수)
+	 */
+	public void addTotal(long delta) {
+		if (delta != 0) {
+			articleMapper.addToCount(ThreadLocalRandom.current().nextInt(STRIPES), delta);
+		}
+	}
+}
@@ -0,0 +1,284 @@
+package com.example.demo.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.example.demo.model.Article;
+import com.example.demo.model.ArticleSearchResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 제목과 내용에 대한 메모리 역색인입니다.
+ * 
+ * 한국어는 띄어쓰기와 조사 때문에 단어 단위로 자르기 어려우므로,
+ * 글자/숫자 묶음을 두 글자씩 겹쳐 자른 bigram 을 색인어로 사용합니다. (한 글자 묶음은 그대로 사용합니다.)
+ * 검색 결과는 BM25 로 점수를 매기며, 제목에서 나온 색인어는 내용보다 가중치를 더 받습니다.
+ * 
+ * 게시글이 등록/수정/삭제될 때 해당 게시글만 다시 색인하고,
+ * 애플리케이션 시작 시에는 DB 에서 모든 게시글을 한 건씩 읽어 색인합니다.
+ */
+@Slf4j
+@Component
+public class ArticleSearchIndex {
+	
+	private static final int TITLE_WEIGHT = 3;
+	private static final int MAX_QUERY_TERMS = 32;
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	private static final int LOCK_STRIPES = 64;
+	
+	private final ObjectProvider<ArticleMapper> articleMapper;
+	
+	private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+	private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+	private final AtomicLong totalLength = new AtomicLong();
+	private final Object[] locks = new Object[LOCK_STRIPES];
+	
+	private volatile Set<Long> rebuildTombstones;
+	
+	public ArticleSearchIndex(ObjectProvider<ArticleMapper> articleMapper) {
+		this.articleMapper = articleMapper;
+		for (int i = 0; i < LOCK_STRIPES; i++) {
+			locks[i] = new Object();
+		}
+	}
+	
+	/**
+	 * 게시글을 색인합니다. 이미 색인된 게시글이라면 새 내용으로 교체합니다.
+	 * 
+	 * @param article 아이디, 제목, 내용, 작성자가 채워진 게시글
+	 */
+	public void index(Article article) {
+		synchronized (lockFor(article.getId())) {
+			removeDocument(article.getId());
+			addDocument(article);
+		}
+	}
+	
+	/**
+	 * 게시글의 제목과 내용을 교체합니다.
+	 * 재색인 중이라 아직 색인되지 않은 게시글이라면 새로 색인하므로, 작성자도 함께 받습니다.
+	 * 
+	 * @param articleId 게시글 아이디
+	 * @param memberId 작성자 아이디 (null 이면 색인된 작성자를 유지합니다.)
+	 * @param title 게시글 제목
+	 * @param content 게시글 내용
+	 */
+	public void update(Long articleId, String memberId, String title, String content) {
+		synchronized (lockFor(articleId)) {
+			Document previous = removeDocument(articleId);
+			Article article = new Article();
+			article.setId(articleId);
+			article.setTitle(title);
+			article.setContent(content);
+			article.setMemberId(memberId != null || previous == null ? memberId : previous.memberId);
+			addDocument(article);
+		}
+	}
+	
+	/**
+	 * @param articleId 색인에서 제거할 게시글 아이디
+	 */
+	public void remove(Long articleId) {
+		Set<Long> tombstones = rebuildTombstones;
+		if (tombstones != null) {
+			tombstones.add(articleId);
+		}
+		synchronized (lockFor(articleId)) {
+			removeDocument(articleId);
+		}
+	}
+	
+	/**
+	 * @param memberId 색인에서 제거할 게시글의 작성자 아이디
+	 */
+	public void removeByMemberId(String memberId) {
+		documents.entrySet().stream()
+				.filter(e -> memberId.equals(e.getValue().memberId))
+				.map(Map.Entry::getKey)
+				.toList()
+				.forEach(this::remove);
+	}
+	
+	/**
+	 * 검색어와 관련도가 높은 순서로 게시글을 조회합니다.
+	 * 반환되는 게시글에는 아이디, 제목, 작성자만 채워져 있습니다.
+	 * 
+	 * @param query 검색어
+	 * @param offset 건너뛸 결과 수
+	 * @param limit 조회할 최대 결과 수
+	 * @return 검색 결과와 전체 결과 수
+	 */
+	public ArticleSearchResult search(String query, int offset, int limit) {
+		List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+		if (terms.size() > MAX_QUERY_TERMS) {
+			terms = terms.subList(0, MAX_QUERY_TERMS);
+		}
+		int documentCount = documents.size();
+		if (terms.isEmpty() || documentCount == 0) {
+			return new ArticleSearchResult(List.of(), 0);
+		}
+		double averageLength = Math.max(1.0, (double) totalLength.get() / documentCount);
+		Map<Long, Double> scores = new HashMap<>();
+		for (String term : terms) {
+			Map<Long, Integer> docs = postings.get(term);
+			if (docs == null) {
+				continue;
+			}
+			double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+			docs.forEach((articleId, frequency) -> {
+				Document document = documents.get(articleId);
+				if (document == null) {
+					return;
+				}
+				double norm = K1 * (1 - B + B * document.length / averageLength);
+				scores.merge(articleId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+			});
+		}
+		
+		Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+				.thenComparing(Map.Entry.comparingByKey());
+		int wanted = offset + limit;
+		PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(ranking);
+		for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+			top.offer(entry);
+			if (top.size() > wanted) {
+				top.poll();
+			}
+		}
+		List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+		ranked.sort(ranking.reversed());
+		
+		List<Article> articles = new ArrayList<>();
+		for (int i = offset; i < ranked.size(); i++) {
+			Long articleId = ranked.get(i).getKey();
+			Document document = documents.get(articleId);
+			if (document != null) {
+				Article article = new Article();
+				article.setId(articleId);
+				article.setTitle(document.title);
+				article.setMemberId(document.memberId);
+				articles.add(article);
+			}
+		}
+		return new ArticleSearchResult(articles, scores.size());
+	}
+	
+	/**
+	 * DB 의 모든 게시글을 한 건씩 읽어 색인합니다.
+	 * 읽는 동안 새로 색인되거나 삭제된 게시글은 읽어온 값으로 덮어쓰지 않습니다.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		long startedAt = System.currentTimeMillis();
+		Set<Long> tombstones = ConcurrentHashMap.newKeySet();
+		rebuildTombstones = tombstones;
+		long[] count = {0};
+		try {
+			articleMapper.getObject().scanForSearch(context -> {
+				Article article = context.getResultObject();
+				synchronized (lockFor(article.getId())) {
+					if (!documents.containsKey(article.getId()) && !tombstones.contains(article.getId())) {
+						addDocument(article);
+					}
+				}
+				count[0]++;
+			});
+		} finally {
+			rebuildTombstones = null;
+		}
+		log.info("article search index built with {} articles in {} ms", count[0], System.currentTimeMillis() - startedAt);
+	}
+	
+	static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null) {
+			return tokens;
+		}
+		String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+		int runStart = -1;
+		for (int i = 0; i <= normalized.length(); i++) {
+			boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+			if (wordChar && runStart < 0) {
+				runStart = i;
+			} else if (!wordChar && runStart >= 0) {
+				if (i - runStart == 1) {
+					tokens.add(normalized.substring(runStart, i));
+				} else {
+					for (int j = runStart; j < i - 1; j++) {
+						tokens.add(normalized.substring(j, j + 2));
+					}
+				}
+				runStart = -1;
+			}
+		}
+		return tokens;
+	}
+	
+	private void addDocument(Article article) {
+		Map<String, Integer> frequencies = new HashMap<>();
+		tokenize(article.getTitle()).forEach(t -> frequencies.merge(t, TITLE_WEIGHT, Integer::sum));
+		tokenize(article.getContent()).forEach(t -> frequencies.merge(t, 1, Integer::sum));
+		int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+		
+		Document document = new Document(article.getTitle(), article.getMemberId(), frequencies.keySet(), length);
+		documents.put(article.getId(), document);
+		totalLength.addAndGet(length);
+		frequencies.forEach((term, frequency) -> postings.compute(term, (t, docs) -> {
+			Map<Long, Integer> updated = docs != null ? docs : new ConcurrentHashMap<>();
+			updated.put(article.getId(), frequency);
+			return updated;
+		}));
+	}
+	
+	private Document removeDocument(Long articleId) {
+		Document document = documents.remove(articleId);
+		if (document == null) {
+			return null;
+		}
+		totalLength.addAndGet(-document.length);
+		for (String term : document.terms) {
+			postings.computeIfPresent(term, (t, docs) -> {
+				docs.remove(articleId);
+				return docs.isEmpty() ? null : docs;
+			});
+		}
+		return document;
+	}
+	
+	private Object lockFor(Long articleId) {
+		return locks[Math.floorMod(articleId.hashCode(), LOCK_STRIPES)];
+	}
+	
+	private static class Document {
+		
+		private final String title;
+		private final String memberId;
+		private final Set<String> terms;
+		private final int length;
+		
+		private Document(String title, String memberId, Set<String> terms, int length) {
+			this.title = title;
+			this.memberId = memberId;
+			this.terms = terms;
+			this.length = length;
+		}
+	}
+}
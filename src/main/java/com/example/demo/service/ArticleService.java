@@ -1,15 +1,38 @@
 package com.example.demo.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.mapper.ArticleMapper;
 import com.example.demo.mapper.MemberMapper;
 import com.example.demo.model.Article;
+import com.example.demo.model.ArticlePage;
+import com.example.demo.model.ArticleSearchResult;
+import com.example.demo.service.TableVersions.Table;
+import com.example.demo.sharding.ArticleShards;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,8 +41,22 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ArticleService {
 	
+	public static final int DEFAULT_PAGE_SIZE = 20;
+	public static final int MAX_PAGE_SIZE = 100;
+	public static final int MAX_BATCH_SIZE = 1000;
+	private static final int BATCH_FLUSH_SIZE = 200;
+	private static final int MAX_SEARCH_RESULTS = 1000;
+	
 	private final ArticleMapper articleMapper;
 	private final MemberMapper memberMapper;
+	private final MemberIdIndex memberIdIndex;
+	private final ArticleShards articleShards;
+	private final ArticleSearchIndex articleSearchIndex;
+	private final TableVersions tableVersions;
+	private final ArticleCounter articleCounter;
+	private final ArticleViewCounter articleViewCounter;
+	private final MemberPurger memberPurger;
+	private final ArticleAuthorCache articleAuthorCache;
 	
 	/**
 	 * 전체 게시글을 조회합니다.
@@ -27,18 +64,135 @@ public class ArticleService {
 	 * @return 게시글 리스트
 	 */
 	public List<Article> findArticles() {
-		return articleMapper.findAll();
+		return visible(articleMapper.findAll());
+	}
+	
+	/**
+	 * 전체 게시글을 아이디 오름차순으로 한 건씩 읽어 전달합니다.
+	 * 결과를 리스트로 모으지 않으므로 게시글 수와 상관없이 메모리 사용량이 일정합니다.
+	 * 
+	 * @param action 게시글마다 호출되는 콜백
+	 */
+	public void streamArticles(Consumer<Article> action) {
+		try (Cursor<Article> cursor = articleMapper.streamAll()) {
+			cursor.forEach(article -> {
+				if (!memberPurger.isPurging(article.getMemberId())) {
+					action.accept(article);
+				}
+			});
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * 게시글을 아이디 오름차순으로 한 페이지씩 조회합니다.
+	 * 다음 페이지 존재 여부를 알기 위해 요청한 크기보다 한 건 더 조회합니다.
+	 * 전체 게시글 수는 COUNT(*) 대신 ArticleCounter 가 관리하는 값을 사용합니다.
+	 * 
+	 * @param after 이전 페이지의 마지막 게시글 아이디 (첫 페이지는 null)
+	 * @param size 페이지 크기 (1 ~ MAX_PAGE_SIZE 범위로 보정됩니다.)
+	 * @return 게시글 페이지
+	 */
+	public ArticlePage findArticlePage(Long after, int size) {
+		int pageSize = normalizePageSize(size);
+		List<Article> articles = articleMapper.findPage(after, pageSize + 1);
+		return toPage(articles, pageSize, articleCounter.total());
+	}
+	
+	/**
+	 * findArticlePage 를 JDBC 실행기에서 실행합니다.
+	 * 
+	 * @see #findArticlePage(Long, int)
+	 * @throws org.springframework.core.task.TaskRejectedException JDBC 실행기의 대기열이 가득 찼을 경우 예외를 발생시킵니다.
+	 */
+	@Async("jdbcExecutor")
+	public CompletableFuture<ArticlePage> findArticlePageAsync(Long after, int size) {
+		return CompletableFuture.completedFuture(findArticlePage(after, size));
 	}
 	
 	/**
-	 * 게시글 아이디에 해당하는 게시글을 조회합니다.
+	 * 제목과 내용에서 검색어와 관련도가 높은 순서로 게시글을 조회합니다.
+	 * DB 를 조회하지 않고 메모리 색인만 사용합니다.
+	 * 
+	 * @param query 검색어
+	 * @param page 페이지 번호 (0부터 시작합니다.)
+	 * @param size 페이지 크기 (1 ~ MAX_PAGE_SIZE 범위로 보정됩니다.)
+	 * @return 검색 결과와 전체 결과 수
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public ArticleSearchResult searchArticles(String query, int page, int size) {
+		int pageSize = normalizePageSize(size);
+		int offset = Math.max(0, Math.min(page, MAX_SEARCH_RESULTS / pageSize)) * pageSize;
+		ArticleSearchResult result = articleSearchIndex.search(query, offset, pageSize);
+		return new ArticleSearchResult(visible(result.getArticles()), result.getTotalCount());
+	}
+	
+	/**
+	 * 게시글 아이디에 해당하는 게시글을 조회하고 조회수를 1 올립니다.
+	 * 조회수는 메모리에만 더하므로 읽기 전용 트랜잭션을 유지하며, 아직 DB 에 반영되지 않은 조회수도 더해서 돌려줍니다.
 	 * 
 	 * @param articleId 게시글 아이디
 	 * @return 게시글 객체
 	 * @throws NoSuchElementException 아이디에 해당하는 게시글이 존재하지 않을 경우 예외를 발생시킵니다.
 	 */
 	public Article findArticleById(Long articleId) {
-		return verifyArticleId(articleId);
+		Article article = verifyArticleId(articleId);
+		articleViewCounter.record(articleId);
+		// MyBatis 가 세션에 캐싱한 객체를 바꾸지 않도록 복사본에 더합니다.
+		Article viewed = new Article();
+		viewed.setId(article.getId());
+		viewed.setTitle(article.getTitle());
+		viewed.setContent(article.getContent());
+		viewed.setCreatedAt(article.getCreatedAt());
+		viewed.setUpdatedAt(article.getUpdatedAt());
+		viewed.setMemberId(article.getMemberId());
+		viewed.setViewCount(article.getViewCount() + articleViewCounter.pending(articleId));
+		return viewed;
+	}
+	
+	/**
+	 * findArticleById 를 JDBC 실행기에서 실행합니다.
+	 * 
+	 * @see #findArticleById(Long)
+	 * @throws org.springframework.core.task.TaskRejectedException JDBC 실행기의 대기열이 가득 찼을 경우 예외를 발생시킵니다.
+	 */
+	@Async("jdbcExecutor")
+	public CompletableFuture<Article> findArticleByIdAsync(Long articleId) {
+		return CompletableFuture.completedFuture(findArticleById(articleId));
+	}
+	
+	/**
+	 * 게시글의 수정 시각만 조회합니다. (조건부 요청에서 게시글 전체를 읽지 않고 ETag 를 비교할 때 사용합니다.)
+	 * 
+	 * @param articleId 게시글 아이디
+	 * @return 게시글이 존재할 경우 수정 시각 (삭제 중인 회원의 게시글은 빈 값)
+	 */
+	public Optional<LocalDateTime> findArticleUpdatedAt(Long articleId) {
+		return articleMapper.findUpdatedAtAndMemberIdById(articleId)
+				.filter(article -> !memberPurger.isPurging(article.getMemberId()))
+				.map(Article::getUpdatedAt);
+	}
+	
+	/**
+	 * 본문을 읽지 않고 조회수만 1 올립니다. (조건부 요청에 304 로 응답한 조회도 조회수에 더합니다.)
+	 * 
+	 * @param articleId findArticleUpdatedAt 으로 존재를 확인한 게시글 아이디
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void recordArticleView(Long articleId) {
+		articleViewCounter.record(articleId);
+	}
+	
+	/**
+	 * findArticleUpdatedAt 을 JDBC 실행기에서 실행합니다.
+	 * 
+	 * @see #findArticleUpdatedAt(Long)
+	 * @throws org.springframework.core.task.TaskRejectedException JDBC 실행기의 대기열이 가득 찼을 경우 예외를 발생시킵니다.
+	 */
+	@Async("jdbcExecutor")
+	public CompletableFuture<Optional<LocalDateTime>> findArticleUpdatedAtAsync(Long articleId) {
+		return CompletableFuture.completedFuture(findArticleUpdatedAt(articleId));
 	}
 	
 	/**
@@ -53,6 +207,33 @@ public class ArticleService {
 		return articleMapper.findByMemberId(memberId);
 	}
 	
+	/**
+	 * 회원이 작성한 게시글을 최신순으로 한 페이지씩 조회합니다.
+	 * 
+	 * @param memberId 회원 아이디
+	 * @param before 이전 페이지의 마지막 게시글 아이디 (첫 페이지는 null)
+	 * @param size 페이지 크기 (1 ~ MAX_PAGE_SIZE 범위로 보정됩니다.)
+	 * @return 게시글 페이지
+	 * @throws NoSuchElementException 아이디에 해당하는 회원이 존재하지 않을 경우 예외를 발생시킵니다.
+	 */
+	public ArticlePage findArticlePageByMemberId(String memberId, Long before, int size) {
+		verifyMemberId(memberId);
+		int pageSize = normalizePageSize(size);
+		List<Article> articles = articleMapper.findPageByMemberId(memberId, before, pageSize + 1);
+		return toPage(articles, pageSize, articleCounter.count(memberId));
+	}
+	
+	/**
+	 * findArticlePageByMemberId 를 JDBC 실행기에서 실행합니다.
+	 * 
+	 * @see #findArticlePageByMemberId(String, Long, int)
+	 * @throws org.springframework.core.task.TaskRejectedException JDBC 실행기의 대기열이 가득 찼을 경우 예외를 발생시킵니다.
+	 */
+	@Async("jdbcExecutor")
+	public CompletableFuture<ArticlePage> findArticlePageByMemberIdAsync(String memberId, Long before, int size) {
+		return CompletableFuture.completedFuture(findArticlePageByMemberId(memberId, before, size));
+	}
+	
 	/**
 	 * 게시글을 등록합니다.
 	 * 
@@ -72,10 +253,61 @@ public class ArticleService {
 		article.setCreatedAt(LocalDateTime.now());
 		article.setUpdatedAt(LocalDateTime.now());
 		article.setMemberId(memberId);
+		addArticleCounts(Map.of(memberId, 1L));
 		Long isSuccess = articleMapper.save(article);
+		AfterCommit.run(() -> articleSearchIndex.index(article));
+		tableVersions.changed(Table.ARTICLE);
 		return verifySuccess(isSuccess, article.getId());
 	}
 	
+	/**
+	 * 여러 게시글을 한 번에 등록합니다.
+	 * 작성자 아이디는 한 번의 쿼리로 검증하고, 게시글은 JDBC 배치로 저장합니다.
+	 * 
+	 * @param articles 제목, 내용, 작성자가 채워진 게시글 리스트
+	 * @return 생성된 게시글 아이디 리스트 (요청 순서와 같습니다.)
+	 * @throws IllegalArgumentException 게시글이 없거나 MAX_BATCH_SIZE 를 넘을 경우 예외를 발생시킵니다.
+	 * @throws NoSuchElementException 아이디에 해당하는 회원이 존재하지 않을 경우 예외를 발생시킵니다.
+	 * @throws IllegalStateException 서버 내부의 문제로 게시글 등록에 실패할 경우, 예외를 발생시킵니다.
+	 */
+	@Transactional
+	public List<Long> createArticles(List<Article> articles) {
+		if (articles.isEmpty() || articles.size() > MAX_BATCH_SIZE) {
+			throw new IllegalArgumentException("한 번에 등록할 수 있는 게시글은 1 ~ " + MAX_BATCH_SIZE + "개 입니다.");
+		}
+		verifyMemberIds(articles.stream().map(Article::getMemberId).collect(Collectors.toSet()));
+		addArticleCounts(articles.stream().collect(Collectors.groupingBy(Article::getMemberId, Collectors.counting())));
+		LocalDateTime now = LocalDateTime.now();
+		articles.forEach(article -> {
+			article.setCreatedAt(now);
+			article.setUpdatedAt(now);
+		});
+		// 샤드를 사용하면 샤드마다 배치 하나로 저장합니다.
+		articles.stream()
+				.collect(Collectors.groupingBy(a -> articleShards.sqlSessionFactoryOfMember(a.getMemberId()),
+						LinkedHashMap::new, Collectors.toList()))
+				.forEach(this::saveBatch);
+		AfterCommit.run(() -> articles.forEach(articleSearchIndex::index));
+		tableVersions.changed(Table.ARTICLE);
+		return articles.stream().map(Article::getId).collect(Collectors.toList());
+	}
+	
+	/**
+	 * 수정/삭제할 게시글의 작성자 아이디를 조회합니다.
+	 * 쓰기 트랜잭션을 열기 전에 쓰기 빈도 제한을 확인할 수 있도록 트랜잭션 없이 ArticleAuthorCache 에서 찾습니다.
+	 * 캐시에 없으면 주 DB 에서 조회합니다. (방금 등록한 게시글은 복제본에 아직 없을 수 있습니다.)
+	 * 
+	 * @param articleId 게시글 아이디
+	 * @return 게시글이 존재하고 작성자가 있을 경우 작성자 아이디
+	 * @throws NoSuchElementException 삭제 중인 회원(MemberPurger)의 게시글일 경우 예외를 발생시킵니다.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public Optional<String> findArticleMemberId(Long articleId) {
+		Optional<String> memberId = articleAuthorCache.find(articleId);
+		memberId.ifPresent(this::verifyNotPurging);
+		return memberId;
+	}
+	
 	/**
 	 * 게시글을 수정합니다.
 	 * 
@@ -88,12 +320,35 @@ public class ArticleService {
 	 */
 	@Transactional
 	public Long updateArticle(Long articleId, String title, String content) {
-		Article foundArticle = verifyArticleId(articleId);
-		foundArticle.setTitle(title);
-		foundArticle.setContent(content);
-		foundArticle.setUpdatedAt(LocalDateTime.now());
-		Long isSuccess = articleMapper.update(foundArticle);
-		return verifySuccess(isSuccess, foundArticle.getId());
+		return updateArticle(articleId, findArticleMemberId(articleId).orElse(null), title, content);
+	}
+	
+	/**
+	 * findArticleMemberId 로 미리 조회한 작성자 아이디를 조건으로 게시글을 한 문장으로 수정합니다.
+	 * 
+	 * @param articleId 게시글 아이디
+	 * @param memberId 작성자 아이디 (null 이면 작성자를 확인하지 않습니다.)
+	 * @param title 게시글 제목
+	 * @param content 게시글 내용
+	 * @return 생성된 게시글 아이디
+	 * @throws NoSuchElementException 아이디와 작성자에 해당하는 게시글이 존재하지 않거나, 작성자가 삭제 중일 경우 예외를 발생시킵니다.
+	 * @throws IllegalStateException 서버 내부의 문제로 게시글 수정에 실패할 경우, 예외를 발생시킵니다.
+	 */
+	@Transactional
+	public Long updateArticle(Long articleId, String memberId, String title, String content) {
+		if (memberId != null) {
+			verifyNotPurging(memberId);
+		}
+		Article article = new Article();
+		article.setId(articleId);
+		article.setTitle(title);
+		article.setContent(content);
+		article.setUpdatedAt(LocalDateTime.now());
+		article.setMemberId(memberId);
+		Long affectedRows = articleMapper.updateTitleAndContent(article);
+		AfterCommit.run(() -> articleSearchIndex.update(articleId, memberId, title, content));
+		tableVersions.changed(Table.ARTICLE);
+		return verifyAffected(affectedRows, articleId);
 	}
 	
 	/**
@@ -106,19 +361,123 @@ public class ArticleService {
 	 */
 	@Transactional
 	public Long deleteArticle(Long articleId) {
-		verifyArticleId(articleId);
-		Long isSuccess = articleMapper.deleteById(articleId);
-		return verifySuccess(isSuccess, articleId);
+		return deleteArticle(articleId, findArticleMemberId(articleId).orElse(null));
+	}
+	
+	/**
+	 * findArticleMemberId 로 미리 조회한 작성자 아이디를 조건으로 게시글을 삭제합니다.
+	 * 
+	 * @param articleId 게시글 아이디
+	 * @param memberId 작성자 아이디 (null 이면 작성자를 확인하지 않고 전체 게시글 수만 줄입니다.)
+	 * @return 삭제된 게시글 아이디
+	 * @throws NoSuchElementException 아이디와 작성자에 해당하는 게시글이 존재하지 않거나, 작성자가 삭제 중일 경우 예외를 발생시킵니다.
+	 * @throws IllegalStateException 서버 내부의 문제로 게시글 삭제에 실패할 경우, 예외를 발생시킵니다.
+	 */
+	@Transactional
+	public Long deleteArticle(Long articleId, String memberId) {
+		// 회원 행을 게시글 행보다 먼저 잠그기 위해 삭제하기 전에 개수를 줄입니다. (삭제에 실패하면 함께 롤백됩니다.)
+		if (memberId != null) {
+			verifyNotPurging(memberId);
+			articleCounter.add(memberId, -1);
+		} else {
+			articleCounter.addTotal(-1);
+		}
+		Long affectedRows = articleMapper.deleteByIdAndMemberId(articleId, memberId);
+		AfterCommit.run(() -> {
+			articleSearchIndex.remove(articleId);
+			articleAuthorCache.evict(articleId);
+		});
+		tableVersions.changed(Table.ARTICLE);
+		return verifyAffected(affectedRows, articleId);
 	}
 	
 	private void verifyMemberId(String memberId) {
-		memberMapper.findById(memberId).orElseThrow(()
-				-> new NoSuchElementException("아이디에 해당하는 회원이 존재하지 않습니다."));
+		if (!memberIdIndex.exists(memberId)) {
+			throw new NoSuchElementException("아이디에 해당하는 회원이 존재하지 않습니다.");
+		}
+	}
+	
+	private void addArticleCounts(Map<String, Long> deltas) {
+		if (!articleCounter.addAll(deltas)) {
+			throw new NoSuchElementException("아이디에 해당하는 회원이 존재하지 않습니다.");
+		}
+	}
+	
+	private void verifyMemberIds(Set<String> memberIds) {
+		boolean mightAllExist = memberIds.stream().allMatch(memberIdIndex::mightContain);
+		if (!mightAllExist || memberMapper.findExistingIds(memberIds).size() != memberIds.size()) {
+			throw new NoSuchElementException("아이디에 해당하는 회원이 존재하지 않습니다.");
+		}
 	}
 	
 	private Article verifyArticleId(Long articleId) {
-		return articleMapper.findById(articleId).orElseThrow(()
-				-> new NoSuchElementException("아이디에 해당하는 게시글이 존재하지 않습니다."));
+		return articleMapper.findById(articleId)
+				.filter(article -> !memberPurger.isPurging(article.getMemberId()))
+				.orElseThrow(() -> new NoSuchElementException("아이디에 해당하는 게시글이 존재하지 않습니다."));
+	}
+	
+	/**
+	 * 삭제 중인 회원(MemberPurger)의 게시글은 verifyArticleId 와 같이 없는 게시글로 취급합니다.
+	 */
+	private void verifyNotPurging(String memberId) {
+		if (memberPurger.isPurging(memberId)) {
+			throw new NoSuchElementException("아이디에 해당하는 게시글이 존재하지 않습니다.");
+		}
+	}
+	
+	/**
+	 * 삭제 중인 회원(MemberPurger)의 게시글을 뺍니다.
+	 */
+	private List<Article> visible(List<Article> articles) {
+		if (articles.stream().noneMatch(article -> memberPurger.isPurging(article.getMemberId()))) {
+			return articles;
+		}
+		return articles.stream().filter(article -> !memberPurger.isPurging(article.getMemberId())).collect(Collectors.toList());
+	}
+	
+	private int normalizePageSize(int size) {
+		return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+	}
+	
+	private ArticlePage toPage(List<Article> articles, int pageSize, long totalCount) {
+		if (articles.size() <= pageSize) {
+			return new ArticlePage(visible(articles), null, totalCount);
+		}
+		// 다음 페이지 위치는 숨긴 게시글을 빼기 전의 목록으로 정합니다.
+		List<Article> page = articles.subList(0, pageSize);
+		return new ArticlePage(visible(page), page.get(pageSize - 1).getId(), totalCount);
+	}
+	
+	private Long verifyAffected(Long affectedRows, Long articleId) {
+		if (affectedRows.equals(0L)) {
+			throw new NoSuchElementException("아이디에 해당하는 게시글이 존재하지 않습니다.");
+		}
+		return verifySuccess(affectedRows, articleId);
+	}
+	
+	private void saveBatch(SqlSessionFactory sqlSessionFactory, List<Article> articles) {
+		try (SqlSession batchSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+			ArticleMapper batchMapper = batchSession.getMapper(ArticleMapper.class);
+			List<BatchResult> results = new ArrayList<>();
+			for (int i = 0; i < articles.size(); i++) {
+				batchMapper.save(articles.get(i));
+				if ((i + 1) % BATCH_FLUSH_SIZE == 0) {
+					results.addAll(batchSession.flushStatements());
+				}
+			}
+			results.addAll(batchSession.flushStatements());
+			verifyBatchSuccess(results, articles.size());
+		}
+	}
+	
+	private void verifyBatchSuccess(List<BatchResult> results, int expectedRows) {
+		int affectedRows = results.stream()
+				.flatMapToInt(r -> Arrays.stream(r.getUpdateCounts()))
+				.map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count)
+				.sum();
+		if (affectedRows != expectedRows) {
+			throw new IllegalStateException("요청 실패");
+		}
 	}
 	
 	private Long verifySuccess(Long isSuccess, Long articleId) {
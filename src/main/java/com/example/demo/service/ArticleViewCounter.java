@@ -0,0 +1,119 @@
+package com.example.demo.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.example.demo.sharding.ArticleShards;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시글 조회수를 메모리에 모았다가 주기적으로 DB 에 한 번에 반영합니다.
+ * 
+ * 조회할 때마다 UPDATE 를 실행하면 가장 많이 호출되는 읽기 요청이 쓰기 요청이 되므로,
+ * 조회는 게시글별 LongAdder 만 증가시키고 articles.views.flush-interval 마다 JDBC 배치 하나로 반영합니다.
+ * 반영한 조회수는 커밋한 뒤에 LongAdder 에서 빼므로, 반영하는 동안에도 pending 이 돌려주는 값이 줄어들지 않습니다.
+ * 반영에 실패한 조회수는 메모리에 그대로 남아 다음 주기에 반영하며, 애플리케이션이 정상 종료될 때도 한 번 반영합니다.
+ * 
+ * 한 주기 동안 조회되지 않은 게시글은 맵에서 제거합니다.
+ * 제거하는 순간 그 게시글을 조회한 요청의 조회수는 드물게 빠질 수 있습니다.
+ */
+@Slf4j
+@Component
+public class ArticleViewCounter {
+	
+	private final ArticleShards articleShards;
+	private final TransactionTemplate transactionTemplate;
+	private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+	
+	public ArticleViewCounter(ArticleShards articleShards, PlatformTransactionManager transactionManager) {
+		this.articleShards = articleShards;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+	
+	/**
+	 * @param articleId 조회된 게시글 아이디
+	 */
+	public void record(Long articleId) {
+		LongAdder views = pending.get(articleId);
+		if (views == null) {
+			views = pending.computeIfAbsent(articleId, id -> new LongAdder());
+		}
+		views.increment();
+	}
+	
+	/**
+	 * @param articleId 게시글 아이디
+	 * @return 아직 DB 에 반영되지 않은 조회수
+	 */
+	public long pending(Long articleId) {
+		LongAdder views = pending.get(articleId);
+		return views != null ? views.sum() : 0;
+	}
+	
+	/**
+	 * 모아둔 조회수를 DB 에 반영합니다.
+	 * 
+	 * @return 반영한 게시글 수
+	 */
+	@Scheduled(fixedDelayString = "${articles.views.flush-interval:PT5S}")
+	public synchronized int flush() {
+		Map<Long, Long> deltas = collect();
+		if (deltas.isEmpty()) {
+			return 0;
+		}
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				// 샤드를 사용하면 샤드마다 배치 하나로 반영합니다.
+				Map<SqlSessionFactory, Map<Long, Long>> byShard = new LinkedHashMap<>();
+				deltas.forEach((articleId, delta) -> byShard
+						.computeIfAbsent(articleShards.sqlSessionFactoryOfArticle(articleId), f -> new HashMap<>())
+						.put(articleId, delta));
+				byShard.forEach((sqlSessionFactory, shardDeltas) -> {
+					try (SqlSession batchSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+						ArticleMapper batchMapper = batchSession.getMapper(ArticleMapper.class);
+						shardDeltas.forEach(batchMapper::addViewCount);
+						batchSession.flushStatements();
+					}
+				});
+			});
+		} catch (RuntimeException e) {
+			log.warn("failed to flush view counts of {} articles, will retry", deltas.size(), e);
+			return 0;
+		}
+		// 맵에서 제거하는 것은 flush 뿐이므로 반영한 게시글의 LongAdder 는 아직 남아 있습니다.
+		deltas.forEach((articleId, delta) -> pending.get(articleId).add(-delta));
+		return deltas.size();
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+	
+	private Map<Long, Long> collect() {
+		Map<Long, Long> deltas = new HashMap<>();
+		pending.forEach((articleId, views) -> {
+			long delta = views.sum();
+			if (delta > 0) {
+				deltas.put(articleId, delta);
+			} else {
+				pending.remove(articleId, views);
+			}
+		});
+		return deltas;
+	}
+}
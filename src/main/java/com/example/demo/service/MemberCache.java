@@ -0,0 +1,131 @@
+package com.example.demo.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.mapper.MemberMapper;
+import com.example.demo.model.Member;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * 회원 조회 결과를 캐싱합니다.
+ * 크기와 TTL 로 제한되며, 존재하지 않는 회원은 캐싱하지 않습니다.
+ * 캐싱된 객체는 여러 요청이 공유하므로 호출하는 쪽에서 수정해서는 안 됩니다.
+ * 
+ * 게시글 수는 자주 바뀌므로 무효화하지 않고, 커밋된 뒤 캐싱된 값에 변경분을 더한 복사본으로 교체합니다. (addArticleCount)
+ */
+@Component
+public class MemberCache {
+	
+	private final MemberMapper memberMapper;
+	private final Cache<String, Entry> cache;
+	
+	public MemberCache(
+			MemberMapper memberMapper,
+			@Value("${member.cache.maximum-size:10000}") long maximumSize,
+			@Value("${member.cache.expire-after-write:5m}") Duration expireAfterWrite) {
+		this.memberMapper = memberMapper;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+	}
+	
+	/**
+	 * 아이디에 해당하는 회원을 캐시에서 찾고, 없으면 DB 에서 조회해 캐싱합니다.
+	 * 
+	 * @param memberId 회원 아이디
+	 * @return 성공 시 Optional 리턴
+	 */
+	public Optional<Member> find(String memberId) {
+		Entry entry = cache.get(memberId, id -> memberMapper.findById(id)
+				.map(member -> new Entry(member, System.nanoTime()))
+				.orElse(null));
+		return Optional.ofNullable(entry).map(Entry::member);
+	}
+	
+	/**
+	 * 회원의 게시글 수를 바꾼 문장을 실행한 직후에 호출합니다.
+	 * 트랜잭션이 커밋되면 캐싱된 회원을 게시글 수에 delta 를 더한 복사본으로 교체하여, 자주 글을 쓰는 회원도 캐시에 남깁니다.
+	 * 
+	 * 호출 전에 조회를 마친 항목만 delta 를 반영하지 않은 값이므로 더하고,
+	 * 호출 뒤에 조회된 항목은 delta 가 이미 반영되었을 수 있으므로 무효화합니다. (롤백되면 호출 뒤에 조회된 항목만 무효화합니다.)
+	 * 트랜잭션 밖에서 호출되면 이미 커밋되었으므로 무효화합니다.
+	 * 
+	 * @param memberId 회원 아이디
+	 * @param delta 더한 값 (삭제는 음수)
+	 */
+	public void addArticleCount(String memberId, long delta) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			cache.invalidate(memberId);
+			return;
+		}
+		long changedAt = System.nanoTime();
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				cache.asMap().computeIfPresent(memberId, (id, entry) -> {
+					if (entry.loadedAt() - changedAt >= 0) {
+						return null;
+					}
+					return status == STATUS_COMMITTED ? entry.plusArticleCount(delta) : entry;
+				});
+			}
+		});
+	}
+	
+	/**
+	 * 회원 캐시를 무효화합니다.
+	 * 트랜잭션 안에서 호출되면 트랜잭션이 끝난 뒤 한 번 더 무효화하여,
+	 * 커밋 전에 다른 요청이 이전 값을 다시 캐싱하는 경우를 막습니다.
+	 * 
+	 * @param memberId 회원 아이디
+	 */
+	public void evict(String memberId) {
+		cache.invalidate(memberId);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.invalidate(memberId);
+				}
+			});
+		}
+	}
+	
+	/**
+	 * @return 적중/실패/축출 횟수 등 캐시 통계
+	 */
+	public CacheStats stats() {
+		return cache.stats();
+	}
+	
+	/**
+	 * @param member 캐싱된 회원
+	 * @param loadedAt DB 조회를 마친 시각 (System.nanoTime)
+	 */
+	private record Entry(Member member, long loadedAt) {
+		
+		/**
+		 * 공유 중인 회원 객체는 그대로 두고, 게시글 수만 바꾼 복사본을 만듭니다.
+		 */
+		Entry plusArticleCount(long delta) {
+			Member copy = new Member();
+			copy.setId(member.getId());
+			copy.setPassword(member.getPassword());
+			copy.setNickname(member.getNickname());
+			copy.setAge(member.getAge());
+			copy.setVersion(member.getVersion());
+			copy.setArticleCount(member.getArticleCount() + delta);
+			return new Entry(copy, loadedAt);
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.mapper.MemberMapper;
+import com.example.demo.model.Member;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 회원 아이디 존재 여부를 메모리에서 먼저 판단하는 인덱스입니다.
+ * 애플리케이션 시작 시 DB 의 모든 회원 아이디로 Bloom filter 를 만들고,
+ * 이후에는 MemberMapper.save 실행을 가로채 새 아이디를 추가합니다.
+ * 
+ * Bloom filter 에 없는 아이디는 DB 를 조회하지 않고 바로 없다고 판단하며,
+ * 있을 수도 있는 아이디만 existsById 로 DB 에 확인합니다.
+ * 삭제된 아이디는 필터에서 지울 수 없지만 DB 확인 단계에서 걸러집니다.
+ * 필터는 인스턴스마다 따로 관리되므로 회원 테이블은 이 애플리케이션을 통해서만 추가되어야 합니다.
+ */
+@Slf4j
+@Component
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class MemberIdIndex implements Interceptor {
+	
+	private static final String SAVE_STATEMENT = MemberMapper.class.getName() + ".save";
+	
+	private final ObjectProvider<MemberMapper> memberMapper;
+	private final long expectedMembers;
+	private final double falsePositiveRate;
+	
+	private final List<String> pendingIds = new ArrayList<>();
+	private volatile BloomFilter filter;
+	
+	public MemberIdIndex(
+			ObjectProvider<MemberMapper> memberMapper,
+			@Value("${member.id-index.expected-members:1000000}") long expectedMembers,
+			@Value("${member.id-index.false-positive-rate:0.01}") double falsePositiveRate) {
+		this.memberMapper = memberMapper;
+		this.expectedMembers = expectedMembers;
+		this.falsePositiveRate = falsePositiveRate;
+	}
+	
+	/**
+	 * 아이디에 해당하는 회원이 존재하는지 확인합니다.
+	 * 
+	 * @param memberId 회원 아이디
+	 * @return 존재할 경우 true
+	 */
+	public boolean exists(String memberId) {
+		return mightContain(memberId) && memberMapper.getObject().existsById(memberId);
+	}
+	
+	/**
+	 * @param memberId 회원 아이디
+	 * @return false 일 경우 확실히 존재하지 않는 회원입니다. 인덱스가 아직 만들어지지 않았다면 항상 true 입니다.
+	 */
+	public boolean mightContain(String memberId) {
+		if (memberId == null) {
+			return false;
+		}
+		BloomFilter current = filter;
+		return current == null || current.mightContain(memberId);
+	}
+	
+	/**
+	 * 인덱스에 회원 아이디를 추가합니다.
+	 * 인덱스가 만들어지는 중이라면 완성된 뒤에 추가되도록 보관합니다.
+	 * 
+	 * @param memberId 회원 아이디
+	 */
+	public void add(String memberId) {
+		BloomFilter current = filter;
+		if (current != null) {
+			current.add(memberId);
+			return;
+		}
+		synchronized (pendingIds) {
+			if (filter != null) {
+				filter.add(memberId);
+			} else {
+				pendingIds.add(memberId);
+			}
+		}
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void build() {
+		long startedAt = System.currentTimeMillis();
+		BloomFilter built = new BloomFilter(expectedMembers, falsePositiveRate);
+		long[] count = {0};
+		memberMapper.getObject().scanIds(context -> {
+			built.add(context.getResultObject());
+			count[0]++;
+		});
+		synchronized (pendingIds) {
+			pendingIds.forEach(built::add);
+			pendingIds.clear();
+			filter = built;
+		}
+		log.info("member id index built with {} ids in {} ms", count[0], System.currentTimeMillis() - startedAt);
+		if (count[0] > expectedMembers) {
+			log.warn("member count {} exceeds member.id-index.expected-members {}; false positive rate will rise",
+					count[0], expectedMembers);
+		}
+	}
+	
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+		Object parameter = invocation.getArgs()[1];
+		if (SAVE_STATEMENT.equals(ms.getId()) && parameter instanceof Member member) {
+			add(member.getId());
+		}
+		return invocation.proceed();
+	}
+}
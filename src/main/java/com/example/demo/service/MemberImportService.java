@@ -0,0 +1,230 @@
+package com.example.demo.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.model.Member;
+import com.example.demo.model.MemberImportResult;
+import com.example.demo.model.MemberImportResult.Status;
+import com.example.demo.model.MemberImportSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CSV 또는 NDJSON 으로 들어온 회원 목록을 한 줄씩 읽어 일정한 크기의 배치로 저장합니다.
+ * 업로드 전체를 메모리에 올리지 않으므로 크기와 상관없이 메모리 사용량이 일정합니다.
+ * 배치마다 별도의 트랜잭션으로 커밋되므로, 중간에 실패해도 이전 배치는 저장된 상태로 남습니다.
+ */
+@Slf4j
+@Service
+public class MemberImportService {
+	
+	public enum Format {
+		CSV, NDJSON
+	}
+	
+	private static final int MAX_COLUMN_LENGTH = 50;
+	private static final String CSV_HEADER_PREFIX = "memberId";
+	
+	private final MemberService memberService;
+	private final ObjectMapper objectMapper;
+	private final int batchSize;
+	
+	public MemberImportService(
+			MemberService memberService,
+			ObjectMapper objectMapper,
+			@Value("${member.import.batch-size:500}") int batchSize) {
+		this.memberService = memberService;
+		this.objectMapper = objectMapper;
+		this.batchSize = batchSize;
+	}
+	
+	/**
+	 * 회원 목록을 읽어 저장합니다.
+	 * CSV 는 memberId,password,nickname,age 순서이며 첫 줄이 memberId 로 시작하면 헤더로 간주합니다.
+	 * 
+	 * @param reader 회원 목록
+	 * @param format 입력 형식
+	 * @param listener 저장하지 못한 줄마다 호출되는 콜백 (배치 단위로 호출됩니다.)
+	 * @return 생성/중복/오류 건수
+	 * @throws IOException 입력을 읽는 중 문제가 생길 경우 예외를 발생시킵니다.
+	 */
+	public MemberImportSummary importMembers(BufferedReader reader, Format format, Consumer<MemberImportResult> listener)
+			throws IOException {
+		MemberImportSummary summary = new MemberImportSummary();
+		List<Member> batch = new ArrayList<>(batchSize);
+		List<Long> batchLines = new ArrayList<>(batchSize);
+		Set<String> batchIds = new HashSet<>();
+		long lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.isBlank() || (lineNumber == 1 && format == Format.CSV && line.startsWith(CSV_HEADER_PREFIX))) {
+				continue;
+			}
+			Member member;
+			try {
+				member = parse(line, format);
+			} catch (IllegalArgumentException e) {
+				report(new MemberImportResult(lineNumber, null, Status.INVALID, e.getMessage()), summary, listener);
+				continue;
+			}
+			if (!batchIds.add(member.getId())) {
+				report(new MemberImportResult(lineNumber, member.getId(), Status.DUPLICATE, "이미 존재하는 아이디입니다."),
+						summary, listener);
+				continue;
+			}
+			batch.add(member);
+			batchLines.add(lineNumber);
+			if (batch.size() == batchSize) {
+				flush(batch, batchLines, summary, listener);
+				batchIds.clear();
+			}
+		}
+		flush(batch, batchLines, summary, listener);
+		return summary;
+	}
+	
+	private void flush(List<Member> batch, List<Long> batchLines, MemberImportSummary summary,
+			Consumer<MemberImportResult> listener) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			Set<String> duplicateIds = memberService.createMembers(batch);
+			for (int i = 0; i < batch.size(); i++) {
+				String memberId = batch.get(i).getId();
+				if (duplicateIds.contains(memberId)) {
+					report(new MemberImportResult(batchLines.get(i), memberId, Status.DUPLICATE, "이미 존재하는 아이디입니다."),
+							summary, listener);
+				} else {
+					summary.count(Status.CREATED);
+				}
+			}
+		} catch (RuntimeException e) {
+			log.warn("member import batch failed, retrying {} rows one by one", batch.size(), e);
+			for (int i = 0; i < batch.size(); i++) {
+				createOne(batch.get(i), batchLines.get(i), summary, listener);
+			}
+		}
+		batch.clear();
+		batchLines.clear();
+	}
+	
+	private void createOne(Member member, long lineNumber, MemberImportSummary summary,
+			Consumer<MemberImportResult> listener) {
+		try {
+			memberService.createMember(member.getId(), member.getPassword(), member.getNickname(), member.getAge());
+			summary.count(Status.CREATED);
+		} catch (DuplicateKeyException e) {
+			report(new MemberImportResult(lineNumber, member.getId(), Status.DUPLICATE, e.getMessage()), summary, listener);
+		} catch (RuntimeException e) {
+			report(new MemberImportResult(lineNumber, member.getId(), Status.INVALID, "저장에 실패했습니다."), summary, listener);
+		}
+	}
+	
+	private void report(MemberImportResult result, MemberImportSummary summary, Consumer<MemberImportResult> listener) {
+		summary.count(result.getStatus());
+		listener.accept(result);
+	}
+	
+	private Member parse(String line, Format format) {
+		Member member = new Member();
+		if (format == Format.CSV) {
+			List<String> columns = splitCsv(line);
+			if (columns.size() < 3 || columns.size() > 4) {
+				throw new IllegalArgumentException("컬럼 수가 올바르지 않습니다.");
+			}
+			member.setId(columns.get(0));
+			member.setPassword(columns.get(1));
+			member.setNickname(columns.get(2));
+			member.setAge(columns.size() == 4 ? parseAge(columns.get(3)) : null);
+		} else {
+			JsonNode node;
+			try {
+				node = objectMapper.readTree(line);
+			} catch (JsonProcessingException e) {
+				throw new IllegalArgumentException("JSON 형식이 올바르지 않습니다.");
+			}
+			member.setId(node.path("memberId").asText(null));
+			member.setPassword(node.path("password").asText(null));
+			member.setNickname(node.path("nickname").asText(null));
+			member.setAge(node.hasNonNull("age") ? parseAge(node.get("age").asText()) : null);
+		}
+		requireColumn(member.getId(), "memberId");
+		requireColumn(member.getPassword(), "password");
+		requireColumn(member.getNickname(), "nickname");
+		return member;
+	}
+	
+	private void requireColumn(String value, String name) {
+		if (value == null || value.isBlank()) {
+			throw new IllegalArgumentException(name + " 이(가) 비어 있습니다.");
+		}
+		if (value.length() > MAX_COLUMN_LENGTH) {
+			throw new IllegalArgumentException(name + " 은(는) " + MAX_COLUMN_LENGTH + "자를 넘을 수 없습니다.");
+		}
+	}
+	
+	private Long parseAge(String value) {
+		if (value.isBlank()) {
+			return null;
+		}
+		try {
+			long age = Long.parseLong(value.trim());
+			if (age < 0 || age > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("age 가 올바르지 않습니다.");
+			}
+			return age;
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("age 가 올바르지 않습니다.");
+		}
+	}
+	
+	/**
+	 * 큰따옴표로 감싼 컬럼과 "" 이스케이프를 지원하는 CSV 한 줄 분리기입니다.
+	 * 줄바꿈이 포함된 컬럼은 지원하지 않습니다.
+	 */
+	private List<String> splitCsv(String line) {
+		List<String> columns = new ArrayList<>();
+		StringBuilder column = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					column.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					column.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				columns.add(column.toString());
+				column.setLength(0);
+			} else {
+				column.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("닫히지 않은 따옴표가 있습니다.");
+		}
+		columns.add(column.toString());
+		return columns;
+	}
+}
@@ -0,0 +1,156 @@
+package com.example.demo.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.example.demo.mapper.MemberMapper;
+import com.example.demo.service.TableVersions.Table;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 삭제 중으로 표시된 회원(member.deleted_at)의 게시글을 조금씩 지우고, 다 지우면 회원 행을 삭제합니다.
+ * 
+ * 게시글이 members.deletion.deferred-threshold 개 이상인 회원은 MemberService.deleteMember 가 한 트랜잭션에서 지우지 않고
+ * 삭제 중으로만 표시합니다. 이 작업은 members.purge.interval 마다 삭제 중인 회원마다 members.purge.chunk-size 개씩 지우고 커밋하므로,
+ * 게시글 행 잠금을 오래 잡고 있지 않습니다. 진행 상황은 DB 에 남아 있으므로 재시작하면 남은 게시글부터 이어서 지웁니다.
+ * 전체 게시글 수는 삭제 중으로 표시할 때 한 번에 빼고, 표시된 회원에게는 게시글을 더 등록할 수 없습니다.
+ * 
+ * 삭제 중인 회원은 회원 조회에서 바로 빠지고, 그 회원의 게시글은 ArticleService 가 isPurging 으로 걸러냅니다.
+ * 다른 인스턴스에서 삭제를 요청한 회원은 다음 주기에 DB 에서 읽어와 숨깁니다.
+ */
+@Slf4j
+@Component
+public class MemberPurger {
+	
+	private final ArticleMapper articleMapper;
+	private final MemberMapper memberMapper;
+	private final TableVersions tableVersions;
+	private final TransactionTemplate transactionTemplate;
+	private final long deferredThreshold;
+	private final int chunkSize;
+	/**
+	 * 삭제 중인 회원 아이디와 숨기기 시작한 시각 (System.nanoTime)
+	 */
+	private final Map<String, Long> purging = new ConcurrentHashMap<>();
+	private final Counter purgedArticles;
+	private final Counter purgedMembers;
+	
+	public MemberPurger(
+			ArticleMapper articleMapper,
+			MemberMapper memberMapper,
+			TableVersions tableVersions,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			@Value("${members.deletion.deferred-threshold:1000}") long deferredThreshold,
+			@Value("${members.purge.chunk-size:500}") int chunkSize) {
+		this.articleMapper = articleMapper;
+		this.memberMapper = memberMapper;
+		this.tableVersions = tableVersions;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.deferredThreshold = deferredThreshold;
+		this.chunkSize = chunkSize;
+		Gauge.builder("members.purge.pending", purging, Map::size)
+				.description("게시글을 지우는 중인 삭제된 회원 수")
+				.register(meterRegistry);
+		this.purgedArticles = Counter.builder("members.purge.articles")
+				.description("삭제된 회원의 게시글 중 나눠서 지운 수")
+				.register(meterRegistry);
+		this.purgedMembers = Counter.builder("members.purge.members")
+				.description("게시글을 모두 지우고 삭제한 회원 수")
+				.register(meterRegistry);
+	}
+	
+	/**
+	 * @param articleCount 삭제할 회원의 게시글 수
+	 * @return 게시글을 나눠 지워야 할 경우 true
+	 */
+	public boolean shouldDefer(long articleCount) {
+		return articleCount >= deferredThreshold;
+	}
+	
+	/**
+	 * 회원의 게시글을 바로 숨깁니다. 삭제 중으로 표시하는 트랜잭션 안에서 호출합니다.
+	 * (트랜잭션이 롤백되면 다음 주기에 DB 와 맞춰 다시 보이게 됩니다.)
+	 * 
+	 * @param memberId 회원 아이디
+	 */
+	public void hide(String memberId) {
+		purging.put(memberId, System.nanoTime());
+	}
+	
+	/**
+	 * @param memberId 작성자 아이디
+	 * @return 삭제 중인 회원일 경우 true (이 회원의 게시글은 조회 결과에서 빼야 합니다.)
+	 */
+	public boolean isPurging(String memberId) {
+		return memberId != null && !purging.isEmpty() && purging.containsKey(memberId);
+	}
+	
+	/**
+	 * 삭제 중인 회원마다 게시글을 한 묶음씩 지웁니다. 남은 게시글이 없으면 회원 행을 삭제합니다.
+	 * 
+	 * @return 지운 게시글 수
+	 */
+	@Scheduled(fixedDelayString = "${members.purge.interval:PT1S}")
+	public synchronized long purge() {
+		List<String> memberIds = refresh();
+		long total = 0;
+		for (String memberId : memberIds) {
+			try {
+				long deleted = transactionTemplate.execute(status -> articleMapper.deleteChunkByMemberId(memberId, chunkSize));
+				purgedArticles.increment(deleted);
+				total += deleted;
+				if (deleted < chunkSize) {
+					finish(memberId);
+				}
+			} catch (RuntimeException e) {
+				log.warn("failed to purge articles of deleted member {}, will retry", memberId, e);
+			}
+		}
+		return total;
+	}
+	
+	/**
+	 * 숨길 회원 목록을 DB 와 맞춥니다. 조회를 시작한 뒤에 hide 로 추가된 회원은 남겨둡니다.
+	 */
+	private List<String> refresh() {
+		long startedAt = System.nanoTime();
+		List<String> memberIds = memberMapper.findDeletedIds();
+		Set<String> deleted = new HashSet<>(memberIds);
+		boolean added = false;
+		for (String memberId : memberIds) {
+			added |= purging.putIfAbsent(memberId, startedAt) == null;
+		}
+		purging.entrySet().removeIf(entry -> !deleted.contains(entry.getKey()) && entry.getValue() - startedAt < 0);
+		if (added) {
+			tableVersions.changed(Table.MEMBER, Table.ARTICLE);
+		}
+		return memberIds;
+	}
+	
+	private void finish(String memberId) {
+		transactionTemplate.executeWithoutResult(status -> {
+			// 회원 행을 게시글 행보다 먼저 잠급니다. (ArticleCounter 참고)
+			memberMapper.findArticleCountByIdForUpdate(memberId);
+			articleMapper.deleteByMemberId(memberId);
+			memberMapper.purgeById(memberId);
+		});
+		purging.remove(memberId);
+		purgedMembers.increment();
+		log.info("purged deleted member {}", memberId);
+	}
+}
@@ -1,14 +1,25 @@
 package com.example.demo.service;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.mapper.ArticleMapper;
 import com.example.demo.mapper.MemberMapper;
 import com.example.demo.model.Member;
+import com.example.demo.service.TableVersions.Table;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,6 +29,13 @@ import lombok.RequiredArgsConstructor;
 public class MemberService {
 	
 	private final MemberMapper memberMapper;
+	private final ArticleMapper articleMapper;
+	private final MemberCache memberCache;
+	private final SqlSessionFactory sqlSessionFactory;
+	private final ArticleSearchIndex articleSearchIndex;
+	private final TableVersions tableVersions;
+	private final ArticleCounter articleCounter;
+	private final MemberPurger memberPurger;
 	
 	/**
 	 * 모든 회원을 조회합니다.
@@ -28,6 +46,17 @@ public class MemberService {
 		return memberMapper.findAll();
 	}
 	
+	/**
+	 * findMembers 를 JDBC 실행기에서 실행합니다.
+	 * 
+	 * @see #findMembers()
+	 * @throws org.springframework.core.task.TaskRejectedException JDBC 실행기의 대기열이 가득 찼을 경우 예외를 발생시킵니다.
+	 */
+	@Async("jdbcExecutor")
+	public CompletableFuture<List<Member>> findMembersAsync() {
+		return CompletableFuture.completedFuture(findMembers());
+	}
+	
 	/**
 	 * 아이디에 해당하는 회원을 조회합니다.
 	 * 
@@ -39,6 +68,17 @@ public class MemberService {
 		return verifyMemberId(memberId);
 	}
 	
+	/**
+	 * findMember 를 JDBC 실행기에서 실행합니다.
+	 * 
+	 * @see #findMember(String)
+	 * @throws org.springframework.core.task.TaskRejectedException JDBC 실행기의 대기열이 가득 찼을 경우 예외를 발생시킵니다.
+	 */
+	@Async("jdbcExecutor")
+	public CompletableFuture<Member> findMemberAsync(String memberId) {
+		return CompletableFuture.completedFuture(findMember(memberId));
+	}
+	
 	/**
 	 * 회원을 생성합니다.
 	 * 
@@ -52,14 +92,44 @@ public class MemberService {
 	 */
 	@Transactional
 	public String createMember(String memberId, String password, String nickname, Long age) {
-		verifyDuplicateMemberId(memberId);
 		Member member = new Member();
 		member.setId(memberId);
 		member.setPassword(password);
 		member.setNickname(nickname);
 		member.setAge(age);
-		Long isSuccess = memberMapper.save(member);
-		return verifySuccess(isSuccess, memberId);
+		try {
+			Long isSuccess = memberMapper.save(member);
+			tableVersions.changed(Table.MEMBER);
+			return verifySuccess(isSuccess, memberId);
+		} catch (DuplicateKeyException e) {
+			throw new DuplicateKeyException("이미 존재하는 아이디입니다.", e);
+		}
+	}
+	
+	/**
+	 * 여러 회원을 JDBC 배치로 한 번에 생성합니다.
+	 * 이미 존재하는 아이디는 한 번의 쿼리로 걸러내고 나머지만 저장합니다.
+	 * 
+	 * @param members 생성할 회원 리스트 (리스트 안에서 아이디가 중복되면 안 됩니다.)
+	 * @return 이미 존재해서 저장하지 않은 회원 아이디
+	 * @throws PersistenceException 확인 이후 다른 요청이 같은 아이디를 먼저 저장하는 등 배치 저장에 실패할 경우, 예외를 발생시킵니다.
+	 */
+	@Transactional
+	public Set<String> createMembers(List<Member> members) {
+		if (members.isEmpty()) {
+			return Set.of();
+		}
+		Set<String> duplicateIds = new HashSet<>(memberMapper.findExistingIds(
+				members.stream().map(Member::getId).collect(Collectors.toList())));
+		try (SqlSession batchSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+			MemberMapper batchMapper = batchSession.getMapper(MemberMapper.class);
+			members.stream()
+					.filter(m -> !duplicateIds.contains(m.getId()))
+					.forEach(batchMapper::save);
+			batchSession.flushStatements();
+		}
+		tableVersions.changed(Table.MEMBER);
+		return duplicateIds;
 	}
 	
 	/**
@@ -75,16 +145,21 @@ public class MemberService {
 	 */
 	@Transactional
 	public String updateMember(String memberId, String password, String nickname, Long age) {
-		Member foundMember = verifyMemberId(memberId);
-		foundMember.setPassword(password);
-		foundMember.setNickname(nickname);
-		foundMember.setAge(age);
-		Long isSuccess = memberMapper.update(foundMember);
-		return verifySuccess(isSuccess, memberId);
+		Member member = new Member();
+		member.setId(memberId);
+		member.setPassword(password);
+		member.setNickname(nickname);
+		member.setAge(age);
+		Long affectedRows = memberMapper.update(member);
+		memberCache.evict(memberId);
+		tableVersions.changed(Table.MEMBER);
+		return verifyAffected(affectedRows, memberId);
 	}
 	
 	/**
 	 * 아이디에 해당하는 회원을 삭제합니다.
+	 * 회원이 작성한 게시글도 함께 삭제하므로 전체 게시글 수에서 그만큼 뺍니다.
+	 * 게시글이 많은 회원은 삭제 중으로 표시해서 바로 숨기고, 게시글과 회원 행은 MemberPurger 가 나눠서 지웁니다.
 	 * 
 	 * @param memberId 회원 아이디
 	 * @return 회원 아이디
@@ -93,22 +168,40 @@ public class MemberService {
 	 */
 	@Transactional
 	public String deleteMember(String memberId) {
-		verifyMemberId(memberId);
-		Long isSuccess = memberMapper.deleteById(memberId);
-		return verifySuccess(isSuccess, memberId);
-	}
-	
-	private void verifyDuplicateMemberId(String memberId) {
-		memberMapper.findById(memberId).ifPresent(m -> {
-			throw new DuplicateKeyException("이미 존재하는 아이디입니다.");
-		});
+		// 회원 행을 잠가서 개수를 읽은 뒤 삭제할 때까지 다른 트랜잭션이 게시글을 더 등록하지 못하게 합니다.
+		long articleCount = memberMapper.findArticleCountByIdForUpdate(memberId).orElse(0L);
+		boolean deferred = memberPurger.shouldDefer(articleCount);
+		Long affectedRows;
+		if (deferred) {
+			affectedRows = memberMapper.markDeleted(memberId);
+		} else {
+			// 샤드에는 FK 가 없으므로 ON DELETE CASCADE 에 맡기지 않고 게시글을 먼저 지웁니다.
+			articleMapper.deleteByMemberId(memberId);
+			affectedRows = memberMapper.deleteById(memberId);
+		}
+		verifyAffected(affectedRows, memberId);
+		if (deferred) {
+			memberPurger.hide(memberId);
+		}
+		articleCounter.addTotal(-articleCount);
+		memberCache.evict(memberId);
+		AfterCommit.run(() -> articleSearchIndex.removeByMemberId(memberId));
+		tableVersions.changed(Table.MEMBER, Table.ARTICLE);
+		return memberId;
 	}
 	
 	private Member verifyMemberId(String memberId) {
-		return memberMapper.findById(memberId).orElseThrow(()
+		return memberCache.find(memberId).orElseThrow(()
 				-> new NoSuchElementException("아이디에 해당하는 회원이 존재하지 않습니다."));
 	}
 	
+	private String verifyAffected(Long affectedRows, String memberId) {
+		if (affectedRows.equals(0L)) {
+			throw new NoSuchElementException("아이디에 해당하는 회원이 존재하지 않습니다.");
+		}
+		return verifySuccess(affectedRows, memberId);
+	}
+	
 	private String verifySuccess(Long isSuccess, String memberId) {
 		if (isSuccess.equals(1L)) {
 			return memberId;
@@ -0,0 +1,17 @@
+package com.example.demo.service;
+
+import com.example.demo.service.TableVersions.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 테이블 변경이 커밋되어 TableVersions 의 버전이 올라간 뒤에 발행됩니다.
+ */
+@Getter
+@AllArgsConstructor
+public class TableChangedEvent {
+	
+	private Table table;
+	private String version;
+}
@@ -0,0 +1,112 @@
+package com.example.demo.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 테이블마다 변경 횟수를 세어 목록 응답의 ETag 로 사용합니다.
+ * 
+ * 서비스의 등록/수정/삭제 메소드가 커밋된 뒤에 값을 올리므로, 목록을 조회하기 전에 값을 읽어두면
+ * 조회한 목록보다 새로운 버전이 ETag 에 붙는 일은 없습니다.
+ * 값은 인스턴스 메모리에만 있으므로 재시작할 때마다 바뀌는 epoch 를 함께 사용합니다.
+ * 
+ * 복제본(datasource.replicas.urls)에서 읽은 목록은 마지막 변경이 아직 반영되지 않았을 수 있으므로,
+ * 마지막 변경 뒤 datasource.replicas.max-lag 가 지나기 전(settled 가 false)에는 목록에 버전을 붙이지 않습니다.
+ */
+@Component
+public class TableVersions {
+	
+	public enum Table {
+		ARTICLE, MEMBER
+	}
+	
+	private final ApplicationEventPublisher eventPublisher;
+	private final long epoch = ThreadLocalRandom.current().nextLong() >>> 1;
+	private final Map<Table, AtomicLong> versions = new EnumMap<>(Table.class);
+	/**
+	 * 테이블마다 마지막으로 버전을 올린 시각 (System.nanoTime)
+	 */
+	private final Map<Table, AtomicLong> changedAt = new EnumMap<>(Table.class);
+	private final long settleNanos;
+	
+	public TableVersions(ApplicationEventPublisher eventPublisher) {
+		this(eventPublisher, Duration.ZERO);
+	}
+	
+	/**
+	 * @param eventPublisher TableChangedEvent 를 발행할 곳
+	 * @param replicaUrls 복제본 JDBC URL (없으면 모든 목록을 주 DB 에서 읽으므로 max-lag 를 사용하지 않습니다.)
+	 * @param replicaMaxLag 복제본이 주 DB 를 따라오는 데 걸리는 최대 시간
+	 */
+	@Autowired
+	public TableVersions(
+			ApplicationEventPublisher eventPublisher,
+			@Value("${datasource.replicas.urls:}") String replicaUrls,
+			@Value("${datasource.replicas.max-lag:1s}") Duration replicaMaxLag) {
+		this(eventPublisher, replicaUrls.isBlank() ? Duration.ZERO : replicaMaxLag);
+	}
+	
+	TableVersions(ApplicationEventPublisher eventPublisher, Duration settleTime) {
+		this.eventPublisher = eventPublisher;
+		this.settleNanos = settleTime.toNanos();
+		long settled = System.nanoTime() - settleNanos;
+		for (Table table : Table.values()) {
+			versions.put(table, new AtomicLong());
+			changedAt.put(table, new AtomicLong(settled));
+		}
+	}
+	
+	/**
+	 * @param table 테이블
+	 * @return 현재 버전 (재시작하면 epoch 가 바뀌므로 이전 값과 비교할 수 없습니다.)
+	 */
+	public String current(Table table) {
+		return Long.toString(epoch, 36) + "." + versions.get(table).get();
+	}
+	
+	/**
+	 * 목록을 조회하기 전에 current 와 함께 확인합니다. false 라면 조회한 목록에 current 의 버전을 붙여 캐시하면 안 됩니다.
+	 * 
+	 * @param tables 목록이 읽는 테이블
+	 * @return 모든 테이블의 마지막 변경 뒤 max-lag 가 지났다면 true (복제본을 사용하지 않으면 항상 true)
+	 */
+	public boolean settled(Table... tables) {
+		for (Table table : tables) {
+			if (nanosUntilSettled(table) > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * @param table 테이블
+	 * @return settled 가 true 가 될 때까지 남은 시간 (나노초, 이미 지났다면 0)
+	 */
+	public long nanosUntilSettled(Table table) {
+		return Math.max(0, settleNanos - (System.nanoTime() - changedAt.get(table).get()));
+	}
+	
+	/**
+	 * 현재 트랜잭션이 커밋되면 테이블 버전을 올리고 TableChangedEvent 를 발행합니다. 트랜잭션 밖이라면 바로 올립니다.
+	 * 
+	 * @param tables 변경된 테이블
+	 */
+	public void changed(Table... tables) {
+		AfterCommit.run(() -> {
+			for (Table table : tables) {
+				changedAt.get(table).set(System.nanoTime());
+				versions.get(table).incrementAndGet();
+				eventPublisher.publishEvent(new TableChangedEvent(table, current(table)));
+			}
+		});
+	}
+}
@@ -0,0 +1,125 @@
+package com.example.demo.sharding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * articles.sharding.urls 에 샤드 JDBC URL 을 쉼표로 나열하면 게시글을 그 DB 들에 나눠 저장합니다.
+ * 설정하지 않으면 샤드가 없고, 모든 게시글은 주 DB 의 article 테이블에 저장됩니다. (기존과 같습니다.)
+ * 
+ * URL 의 순서가 샤드 번호이므로, 샤드를 늘릴 때는 목록 끝에 추가하고 ShardRebalancer 로 버킷을 옮긴 뒤 다시 시작해야 합니다.
+ * 샤드는 주 DB 와 같은 계정으로 접속하며 풀 크기는 articles.sharding.maximum-pool-size 로 정합니다.
+ * 
+ * JDBC 배치처럼 ArticleMapper 빈을 거치지 않고 SqlSession 을 직접 여는 코드는
+ * sqlSessionFactoryOfMember / sqlSessionFactoryOfArticle 로 게시글이 있는 DB 의 SqlSessionFactory 를 얻어야 합니다.
+ */
+@Component
+public class ArticleShards {
+	
+	private final SqlSessionFactory sqlSessionFactory;
+	private final List<Shard> shards;
+	
+	@Autowired
+	public ArticleShards(
+			SqlSessionFactory sqlSessionFactory,
+			DataSourceProperties properties,
+			ObjectProvider<Interceptor> interceptors,
+			@Value("${articles.sharding.urls:}") List<String> urls,
+			@Value("${articles.sharding.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize) {
+		Interceptor[] plugins = interceptors.orderedStream().toArray(Interceptor[]::new);
+		List<Shard> shards = new ArrayList<>();
+		for (int i = 0; i < urls.size(); i++) {
+			HikariDataSource dataSource = new HikariDataSource();
+			dataSource.setPoolName("shard-" + i);
+			dataSource.setDriverClassName(properties.determineDriverClassName());
+			dataSource.setJdbcUrl(urls.get(i).trim());
+			dataSource.setUsername(properties.determineUsername());
+			dataSource.setPassword(properties.determinePassword());
+			dataSource.setMaximumPoolSize(poolSize);
+			shards.add(Shard.open(i, dataSource, plugins));
+		}
+		this.sqlSessionFactory = sqlSessionFactory;
+		this.shards = Collections.unmodifiableList(shards);
+	}
+	
+	public ArticleShards(SqlSessionFactory sqlSessionFactory, List<Shard> shards) {
+		this.sqlSessionFactory = sqlSessionFactory;
+		this.shards = List.copyOf(shards);
+	}
+	
+	/**
+	 * @return 샤드를 사용할 경우 true
+	 */
+	public boolean isEnabled() {
+		return !shards.isEmpty();
+	}
+	
+	/**
+	 * @return 모든 샤드 (샤드를 사용하지 않으면 빈 리스트)
+	 */
+	public List<Shard> shards() {
+		return shards;
+	}
+	
+	/**
+	 * @param memberId 작성자 아이디
+	 * @return 작성자의 게시글이 있는 샤드
+	 */
+	public Shard shardOfMember(String memberId) {
+		return shards.get(ShardRouter.shardOf(ShardRouter.bucketOf(memberId), shards.size()));
+	}
+	
+	/**
+	 * @param articleId 게시글 아이디
+	 * @return 게시글이 있는 샤드
+	 */
+	public Shard shardOfArticle(long articleId) {
+		return shards.get(ShardRouter.shardOf(ShardRouter.bucketOfArticle(articleId), shards.size()));
+	}
+	
+	/**
+	 * @param memberId 작성자 아이디
+	 * @return 작성자의 게시글을 저장할 DB 의 SqlSessionFactory (샤드를 사용하지 않으면 주 DB)
+	 */
+	public SqlSessionFactory sqlSessionFactoryOfMember(String memberId) {
+		return shards.isEmpty() ? sqlSessionFactory : shardOfMember(memberId).getSqlSessionFactory();
+	}
+	
+	/**
+	 * @param articleId 게시글 아이디
+	 * @return 게시글이 있는 DB 의 SqlSessionFactory (샤드를 사용하지 않으면 주 DB)
+	 */
+	public SqlSessionFactory sqlSessionFactoryOfArticle(long articleId) {
+		return shards.isEmpty() ? sqlSessionFactory : shardOfArticle(articleId).getSqlSessionFactory();
+	}
+	
+	/**
+	 * @return 게시글이 있는 모든 DB 의 SqlSessionFactory (샤드를 사용하지 않으면 주 DB 하나)
+	 */
+	public List<SqlSessionFactory> sqlSessionFactories() {
+		return shards.isEmpty() ? List.of(sqlSessionFactory) : shards.stream().map(Shard::getSqlSessionFactory).toList();
+	}
+	
+	@PreDestroy
+	public void close() {
+		for (Shard shard : shards) {
+			if (shard.getDataSource() instanceof ShardDataSource shardDataSource
+					&& shardDataSource.getTargetDataSource() instanceof HikariDataSource hikari) {
+				hikari.close();
+			}
+		}
+	}
+}
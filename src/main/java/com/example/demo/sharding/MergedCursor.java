@@ -0,0 +1,83 @@
+package com.example.demo.sharding;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.ibatis.cursor.Cursor;
+
+/**
+ * 샤드마다 연 커서를 정렬 순서대로 합친 커서입니다.
+ * MyBatis 커서처럼 iterator 는 한 번만 얻을 수 있고, close 하면 모든 샤드의 커서를 닫습니다.
+ */
+class MergedCursor<T> implements Cursor<T> {
+	
+	private final List<Cursor<T>> cursors;
+	private final Comparator<? super T> comparator;
+	private boolean iteratorRetrieved;
+	private boolean closed;
+	private int currentIndex = -1;
+	private MergingIterator<T> merged;
+	
+	MergedCursor(List<Cursor<T>> cursors, Comparator<? super T> comparator) {
+		this.cursors = cursors;
+		this.comparator = comparator;
+	}
+	
+	@Override
+	public boolean isOpen() {
+		return !closed && cursors.stream().anyMatch(Cursor::isOpen);
+	}
+	
+	@Override
+	public boolean isConsumed() {
+		return merged != null && !merged.hasNext();
+	}
+	
+	@Override
+	public int getCurrentIndex() {
+		return currentIndex;
+	}
+	
+	@Override
+	public Iterator<T> iterator() {
+		if (iteratorRetrieved) {
+			throw new IllegalStateException("Cannot open more than one iterator on a Cursor");
+		}
+		iteratorRetrieved = true;
+		List<Iterator<T>> sources = new ArrayList<>();
+		cursors.forEach(cursor -> sources.add(cursor.iterator()));
+		merged = new MergingIterator<>(sources, comparator);
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return !closed && merged.hasNext();
+			}
+			
+			@Override
+			public T next() {
+				T value = merged.next();
+				currentIndex++;
+				return value;
+			}
+		};
+	}
+	
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		IOException failure = null;
+		for (Cursor<T> cursor : cursors) {
+			try {
+				cursor.close();
+			} catch (IOException e) {
+				failure = e;
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.demo.sharding;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * 각각 정렬된 여러 Iterator 를 하나의 정렬된 Iterator 로 합칩니다. (k-way merge)
+ * 각 Iterator 의 다음 원소 하나씩만 힙에 두므로 한 번에 k 개의 원소만 메모리에 올라갑니다.
+ */
+class MergingIterator<T> implements Iterator<T> {
+	
+	private final PriorityQueue<Head<T>> heads;
+	
+	MergingIterator(List<? extends Iterator<T>> sources, Comparator<? super T> comparator) {
+		this.heads = new PriorityQueue<>(Math.max(1, sources.size()), (a, b) -> comparator.compare(a.value, b.value));
+		for (Iterator<T> source : sources) {
+			if (source.hasNext()) {
+				heads.add(new Head<>(source.next(), source));
+			}
+		}
+	}
+	
+	@Override
+	public boolean hasNext() {
+		return !heads.isEmpty();
+	}
+	
+	@Override
+	public T next() {
+		Head<T> head = heads.poll();
+		if (head == null) {
+			throw new NoSuchElementException();
+		}
+		T value = head.value;
+		if (head.source.hasNext()) {
+			heads.add(new Head<>(head.source.next(), head.source));
+		}
+		return value;
+	}
+	
+	private record Head<T>(T value, Iterator<T> source) {
+	}
+}
@@ -0,0 +1,86 @@
+package com.example.demo.sharding;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.example.demo.mapper.ArticleMapper;
+
+import lombok.Getter;
+
+/**
+ * 게시글 테이블 하나를 가진 샤드 DB 입니다.
+ * 
+ * 샤드의 SqlSessionFactory 는 articleMapper.xml 만 읽고 databaseId 를 "shard" 로 설정하므로,
+ * databaseId="shard" 인 구문(아이디를 버킷으로 만드는 save)이 같은 아이디의 기본 구문 대신 사용됩니다.
+ */
+@Getter
+public class Shard {
+	
+	static final String DATABASE_ID = "shard";
+	
+	private final int index;
+	private final DataSource dataSource;
+	private final SqlSessionFactory sqlSessionFactory;
+	private final ArticleMapper articleMapper;
+	
+	private Shard(int index, DataSource dataSource, SqlSessionFactory sqlSessionFactory) {
+		this.index = index;
+		this.dataSource = dataSource;
+		this.sqlSessionFactory = sqlSessionFactory;
+		this.articleMapper = new SqlSessionTemplate(sqlSessionFactory).getMapper(ArticleMapper.class);
+	}
+	
+	/**
+	 * 테이블과 시퀀스가 없으면 만들고 샤드를 엽니다.
+	 * 
+	 * @param index 샤드 번호 (articles.sharding.urls 의 순서)
+	 * @param dataSource 샤드 DB
+	 * @param plugins 샤드 구문에도 적용할 MyBatis 플러그인 (구문 지표 등)
+	 * @return 샤드
+	 */
+	public static Shard open(int index, DataSource dataSource, Interceptor... plugins) {
+		initialize(index, dataSource);
+		ShardDataSource shardDataSource = new ShardDataSource(dataSource);
+		SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+		factoryBean.setDataSource(shardDataSource);
+		factoryBean.setTypeAliasesPackage("com.example.demo.model");
+		factoryBean.setMapperLocations(new ClassPathResource("mappers/articleMapper.xml"));
+		factoryBean.setDatabaseIdProvider(ds -> DATABASE_ID);
+		factoryBean.setPlugins(plugins);
+		try {
+			return new Shard(index, shardDataSource, factoryBean.getObject());
+		} catch (Exception e) {
+			throw new IllegalStateException("샤드 " + index + " 의 SqlSessionFactory 를 만들지 못했습니다.", e);
+		}
+	}
+	
+	/**
+	 * shard_init.sql 을 실행하고 article_seq 를 만듭니다.
+	 * article_seq 는 index + 1 에서 시작해 MAX_SHARDS 씩 증가하므로, 버킷이 다른 샤드로 옮겨가도 아이디가 겹치지 않습니다.
+	 * 
+	 * @param index 샤드 번호
+	 * @param dataSource 샤드 DB
+	 */
+	public static void initialize(int index, DataSource dataSource) {
+		if (index < 0 || index >= ShardRouter.MAX_SHARDS) {
+			throw new IllegalArgumentException("샤드는 최대 " + ShardRouter.MAX_SHARDS + "개까지 둘 수 있습니다.");
+		}
+		new ResourceDatabasePopulator(new ClassPathResource("shard_init.sql")).execute(dataSource);
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE SEQUENCE IF NOT EXISTS article_seq START WITH " + (index + 1)
+					+ " INCREMENT BY " + ShardRouter.MAX_SHARDS);
+		} catch (SQLException e) {
+			throw new IllegalStateException("샤드 " + index + " 의 시퀀스를 만들지 못했습니다.", e);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.example.demo.sharding;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 샤드 DB 의 DataSource 입니다.
+ * 
+ * 트랜잭션 매니저는 주 DB 만 관리하므로, 그대로 두면 샤드에 실행한 쿼리는 바로 자동 커밋됩니다.
+ * 쓰기 트랜잭션 안에서 커넥션을 얻으면 자동 커밋을 끄고, 주 DB 를 커밋하기 직전(beforeCommit)에 샤드를 커밋하며
+ * 트랜잭션이 롤백되면 샤드도 롤백합니다. (한 트랜잭션 안에서는 DataSourceUtils 가 같은 커넥션을 다시 돌려줍니다.)
+ * 
+ * 분산 트랜잭션(2PC)은 아니므로, 샤드를 커밋한 뒤 주 DB 커밋이 실패하면 샤드의 변경은 남습니다.
+ */
+@Slf4j
+public class ShardDataSource extends DelegatingDataSource {
+	
+	public ShardDataSource(DataSource target) {
+		super(target);
+	}
+	
+	@Override
+	public Connection getConnection() throws SQLException {
+		Connection connection = super.getConnection();
+		if (TransactionSynchronizationManager.isSynchronizationActive()
+				&& TransactionSynchronizationManager.isActualTransactionActive()
+				&& !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			connection.setAutoCommit(false);
+			TransactionSynchronizationManager.registerSynchronization(new ShardSynchronization(connection));
+		}
+		return connection;
+	}
+	
+	private static final class ShardSynchronization implements TransactionSynchronization {
+		
+		private final Connection connection;
+		
+		private ShardSynchronization(Connection connection) {
+			this.connection = connection;
+		}
+		
+		/**
+		 * MyBatis 세션이 남은 구문을 반영한 뒤, 커넥션이 풀로 반납되기 전에 실행되도록 합니다.
+		 */
+		@Override
+		public int getOrder() {
+			return DataSourceUtils.CONNECTION_SYNCHRONIZATION_ORDER - 1;
+		}
+		
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			try {
+				connection.commit();
+			} catch (SQLException e) {
+				throw new TransactionSystemException("샤드 커밋에 실패했습니다.", e);
+			}
+		}
+		
+		/**
+		 * 커밋했다면 되돌릴 것이 없으므로, 커밋 여부와 상관없이 롤백하고 자동 커밋을 되돌립니다.
+		 */
+		@Override
+		public void beforeCompletion() {
+			try {
+				connection.rollback();
+				connection.setAutoCommit(true);
+			} catch (SQLException e) {
+				log.warn("failed to reset shard connection", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.example.demo.sharding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 샤드 수를 바꿀 때 버킷이 새로 배정된 샤드로 게시글을 옮기는 도구입니다.
+ * 
+ * 샤드마다 게시글을 아이디 순서로 CHUNK_SIZE 건씩 읽어, 새 샤드 수에서 다른 샤드에 배정되는 게시글만
+ * 대상 샤드에 MERGE 한 뒤 원래 샤드에서 지웁니다. 대상 샤드에 먼저 쓰므로 도중에 멈춰도 다시 실행하면 이어서 옮깁니다.
+ * 게시글 아이디는 바뀌지 않습니다.
+ * 
+ * 옮기는 동안 들어온 쓰기는 옛 배정을 따르므로 애플리케이션을 멈춘 상태에서 실행해야 합니다.
+ * 실행 예 (샤드 2개 → 3개, 애플리케이션 jar 를 클래스패스로 사용):
+ * 
+ * <pre>
+ * java -cp demo.jar -Dloader.main=com.example.demo.sharding.ShardRebalancer \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     2 3 jdbc:h2:tcp://127.0.0.1/~/shard0 jdbc:h2:tcp://127.0.0.1/~/shard1 jdbc:h2:tcp://127.0.0.1/~/shard2
+ * </pre>
+ * 
+ * 샤드를 줄일 때는 없어질 샤드까지 모든 URL 을 나열합니다.
+ * 접속 계정은 -Dshard.username, -Dshard.password 로 정합니다. (기본값 sa / 빈 비밀번호)
+ */
+@Slf4j
+public class ShardRebalancer {
+	
+	private static final int CHUNK_SIZE = 500;
+	private static final String COLUMNS = "article_id, title, content, content_data, created_at, updated_at, member_id, view_count";
+	
+	private final List<DataSource> dataSources;
+	
+	/**
+	 * @param dataSources 샤드 번호 순서의 샤드 DB (이전과 이후 샤드 수 중 큰 쪽만큼 필요합니다.)
+	 */
+	public ShardRebalancer(List<DataSource> dataSources) {
+		this.dataSources = List.copyOf(dataSources);
+	}
+	
+	/**
+	 * @param fromCount 지금까지 사용한 샤드 수
+	 * @param toCount 재분배 후 사용할 샤드 수
+	 * @return 옮긴 게시글 수
+	 */
+	public long rebalance(int fromCount, int toCount) {
+		if (fromCount < 1 || toCount < 1 || Math.max(fromCount, toCount) > dataSources.size()) {
+			throw new IllegalArgumentException("샤드 수는 1 ~ " + dataSources.size() + " 이어야 합니다.");
+		}
+		for (int i = 0; i < toCount; i++) {
+			Shard.initialize(i, dataSources.get(i));
+		}
+		long moved = 0;
+		for (int source = 0; source < fromCount; source++) {
+			long movedFromSource = moveFrom(source, toCount);
+			log.info("moved {} articles from shard {}", movedFromSource, source);
+			moved += movedFromSource;
+		}
+		return moved;
+	}
+	
+	private long moveFrom(int source, int toCount) {
+		JdbcTemplate sourceJdbc = new JdbcTemplate(dataSources.get(source));
+		long moved = 0;
+		long after = 0;
+		while (true) {
+			List<Object[]> rows = sourceJdbc.query(
+					"SELECT " + COLUMNS + " FROM article WHERE article_id > ? ORDER BY article_id LIMIT ?",
+					(rs, rowNum) -> new Object[] {
+						rs.getLong(1), rs.getString(2), rs.getString(3), rs.getBytes(4), rs.getObject(5), rs.getObject(6), rs.getString(7), rs.getLong(8)
+					},
+					after, CHUNK_SIZE);
+			if (rows.isEmpty()) {
+				return moved;
+			}
+			after = (long) rows.get(rows.size() - 1)[0];
+			Map<Integer, List<Object[]>> byTarget = new LinkedHashMap<>();
+			for (Object[] row : rows) {
+				int target = ShardRouter.shardOf(ShardRouter.bucketOfArticle((long) row[0]), toCount);
+				if (target != source) {
+					byTarget.computeIfAbsent(target, t -> new ArrayList<>()).add(row);
+				}
+			}
+			for (Map.Entry<Integer, List<Object[]>> entry : byTarget.entrySet()) {
+				new JdbcTemplate(dataSources.get(entry.getKey())).batchUpdate(
+						"MERGE INTO article (" + COLUMNS + ") KEY (article_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", entry.getValue());
+				sourceJdbc.batchUpdate("DELETE FROM article WHERE article_id = ?",
+						entry.getValue().stream().map(row -> new Object[] {row[0]}).toList());
+				moved += entry.getValue().size();
+			}
+		}
+	}
+	
+	public static void main(String[] args) {
+		if (args.length < 3) {
+			System.err.println("usage: ShardRebalancer <이전 샤드 수> <새 샤드 수> <샤드 JDBC URL>...");
+			System.exit(2);
+		}
+		int fromCount = Integer.parseInt(args[0]);
+		int toCount = Integer.parseInt(args[1]);
+		List<String> urls = Arrays.asList(args).subList(2, args.length);
+		List<DataSource> dataSources = new ArrayList<>();
+		for (String url : urls) {
+			dataSources.add(new DriverManagerDataSource(url,
+					System.getProperty("shard.username", "sa"), System.getProperty("shard.password", "")));
+		}
+		long moved = new ShardRebalancer(dataSources).rebalance(fromCount, toCount);
+		log.info("rebalanced {} -> {} shards, moved {} articles", fromCount, toCount, moved);
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.demo.sharding;
+
+/**
+ * 게시글을 어느 샤드에 둘지 정합니다.
+ * 
+ * 작성자 아이디를 해시해서 BUCKETS 개의 버킷 중 하나를 고르고, 버킷은 Jump Consistent Hash 로 샤드에 배정합니다.
+ * 샤드를 하나 늘리면 전체 버킷 중 약 1/(샤드 수) 만 새 샤드로 옮겨지고, 나머지 버킷은 원래 샤드에 그대로 남습니다.
+ * 
+ * 게시글 아이디의 하위 BUCKET_BITS 비트는 버킷이므로, 아이디만으로도 게시글이 있는 샤드를 찾을 수 있습니다.
+ * 재분배로 버킷이 다른 샤드로 옮겨져도 아이디는 바뀌지 않습니다.
+ */
+public final class ShardRouter {
+	
+	public static final int BUCKET_BITS = 10;
+	public static final int BUCKETS = 1 << BUCKET_BITS;
+	
+	/**
+	 * 샤드마다 시퀀스를 다른 값에서 시작해 MAX_SHARDS 씩 증가시키므로, 샤드는 최대 MAX_SHARDS 개까지 둘 수 있습니다.
+	 */
+	public static final int MAX_SHARDS = 64;
+	
+	private ShardRouter() {
+	}
+	
+	/**
+	 * articleMapper.xml 의 save (databaseId="shard") 에서도 사용합니다.
+	 * 
+	 * @param memberId 작성자 아이디 (작성자가 없는 게시글은 0번 버킷)
+	 * @return 버킷 (0 ~ BUCKETS - 1)
+	 */
+	public static int bucketOf(String memberId) {
+		if (memberId == null) {
+			return 0;
+		}
+		// String.hashCode 는 하위 비트가 고르게 섞이지 않으므로 murmur3 의 마무리 단계로 한 번 더 섞습니다.
+		int hash = memberId.hashCode();
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		hash *= 0xc2b2ae35;
+		hash ^= hash >>> 16;
+		return hash & (BUCKETS - 1);
+	}
+	
+	/**
+	 * @param articleId 게시글 아이디
+	 * @return 아이디에 담긴 버킷
+	 */
+	public static int bucketOfArticle(long articleId) {
+		return (int) (articleId & (BUCKETS - 1));
+	}
+	
+	/**
+	 * Jump Consistent Hash (Lamping, Veach) 로 버킷을 샤드에 배정합니다.
+	 * 
+	 * @param bucket 버킷
+	 * @param shardCount 샤드 수
+	 * @return 샤드 번호 (0 ~ shardCount - 1)
+	 */
+	public static int shardOf(int bucket, int shardCount) {
+		long key = bucket;
+		long shard = -1;
+		long next = 0;
+		while (next < shardCount) {
+			shard = next;
+			key = key * 2862933555777941757L + 1;
+			next = (long) ((shard + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+		}
+		return (int) shard;
+	}
+}
@@ -0,0 +1,189 @@
+package com.example.demo.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.example.demo.model.Article;
+
+/**
+ * 게시글을 샤드에 나눠 저장하는 ArticleMapper 입니다. (articles.sharding.urls 를 설정하면 기본 ArticleMapper 대신 주입됩니다.)
+ * 
+ * 작성자나 게시글 아이디로 찾는 구문은 해당 샤드 하나에만 실행하고,
+ * 전체 목록과 페이지는 모든 샤드에 같은 구문을 실행한 뒤 아이디 순서로 합칩니다. (scatter-gather, k-way merge)
+ * 샤드는 호출한 스레드에서 차례로 조회합니다. 호출한 쪽이 이미 jdbcExecutor 의 스레드를 쓰고 있을 수 있어서,
+ * 같은 실행기에 하위 작업을 다시 맡기면 대기열이 가득 찼을 때 서로를 기다리게 됩니다.
+ * 
+ * 전체 게시글 수(article_counter)는 주 DB 에 있으므로 countAll, addToCount 는 주 DB 의 ArticleMapper 에 맡깁니다.
+ * 게시글 아이디는 샤드별 시퀀스로 만들어지므로 아이디 순서가 샤드를 넘나드는 작성 순서와 정확히 같지는 않습니다.
+ */
+public class ShardedArticleMapper implements ArticleMapper {
+	
+	private static final Comparator<Article> BY_ID = Comparator.comparing(Article::getId);
+	
+	private final ArticleShards articleShards;
+	private final ArticleMapper primaryArticleMapper;
+	
+	public ShardedArticleMapper(ArticleShards articleShards, ArticleMapper primaryArticleMapper) {
+		this.articleShards = articleShards;
+		this.primaryArticleMapper = primaryArticleMapper;
+	}
+	
+	@Override
+	public List<Article> findAll() {
+		List<List<Article>> results = new ArrayList<>();
+		for (Shard shard : articleShards.shards()) {
+			List<Article> articles = new ArrayList<>(shard.getArticleMapper().findAll());
+			articles.sort(BY_ID);
+			results.add(articles);
+		}
+		return merge(results, Integer.MAX_VALUE);
+	}
+	
+	@Override
+	public Optional<Article> findUpdatedAtAndMemberIdById(Long id) {
+		return byArticle(id).findUpdatedAtAndMemberIdById(id);
+	}
+	
+	@Override
+	public Optional<String> findMemberIdById(Long id) {
+		return byArticle(id).findMemberIdById(id);
+	}
+	
+	@Override
+	public long countAll() {
+		return primaryArticleMapper.countAll();
+	}
+	
+	@Override
+	public Cursor<Article> streamAll() {
+		List<Cursor<Article>> cursors = new ArrayList<>();
+		articleShards.shards().forEach(shard -> cursors.add(shard.getArticleMapper().streamAll()));
+		return new MergedCursor<>(cursors, BY_ID);
+	}
+	
+	@Override
+	public void scanForSearch(ResultHandler<Article> handler) {
+		articleShards.shards().forEach(shard -> shard.getArticleMapper().scanForSearch(handler));
+	}
+	
+	@Override
+	public List<Article> findPage(Long after, int size) {
+		List<List<Article>> results = new ArrayList<>();
+		articleShards.shards().forEach(shard -> results.add(shard.getArticleMapper().findPage(after, size)));
+		return merge(results, size);
+	}
+	
+	@Override
+	public Optional<Article> findById(Long id) {
+		return byArticle(id).findById(id);
+	}
+	
+	@Override
+	public List<Article> findByMemberId(String memberId) {
+		return byMember(memberId).findByMemberId(memberId);
+	}
+	
+	@Override
+	public List<Article> findPageByMemberId(String memberId, Long before, int size) {
+		return byMember(memberId).findPageByMemberId(memberId, before, size);
+	}
+	
+	@Override
+	public Long save(Article article) {
+		return byMember(article.getMemberId()).save(article);
+	}
+	
+	/**
+	 * @throws IllegalArgumentException 작성자를 다른 버킷의 회원으로 바꾸려고 할 경우 예외를 발생시킵니다.
+	 * (게시글 아이디에 원래 작성자의 버킷이 담겨 있으므로 게시글을 옮길 수 없습니다.)
+	 */
+	@Override
+	public Long update(Article article) {
+		if (ShardRouter.bucketOf(article.getMemberId()) != ShardRouter.bucketOfArticle(article.getId())) {
+			throw new IllegalArgumentException("게시글 작성자를 다른 샤드의 회원으로 바꿀 수 없습니다.");
+		}
+		return byArticle(article.getId()).update(article);
+	}
+	
+	@Override
+	public Long updateTitleAndContent(Article article) {
+		return byArticle(article.getId()).updateTitleAndContent(article);
+	}
+	
+	@Override
+	public List<Article> findLegacyContentPage(long after, int size) {
+		List<List<Article>> results = new ArrayList<>();
+		articleShards.shards().forEach(shard -> results.add(shard.getArticleMapper().findLegacyContentPage(after, size)));
+		return merge(results, size);
+	}
+	
+	@Override
+	public Long migrateContent(Article article) {
+		return byArticle(article.getId()).migrateContent(article);
+	}
+	
+	@Override
+	public Long addViewCount(Long id, long delta) {
+		return byArticle(id).addViewCount(id, delta);
+	}
+	
+	@Override
+	public Long addToCount(int stripe, long delta) {
+		return primaryArticleMapper.addToCount(stripe, delta);
+	}
+	
+	@Override
+	public Long deleteById(Long id) {
+		return byArticle(id).deleteById(id);
+	}
+	
+	@Override
+	public Long deleteByIdAndMemberId(Long id, String memberId) {
+		return byArticle(id).deleteByIdAndMemberId(id, memberId);
+	}
+	
+	@Override
+	public Long deleteByMemberId(String memberId) {
+		return byMember(memberId).deleteByMemberId(memberId);
+	}
+	
+	@Override
+	public Long deleteChunkByMemberId(String memberId, int size) {
+		return byMember(memberId).deleteChunkByMemberId(memberId, size);
+	}
+	
+	@Override
+	public Long deleteAll() {
+		long deleted = 0;
+		for (Shard shard : articleShards.shards()) {
+			deleted += shard.getArticleMapper().deleteAll();
+		}
+		return deleted;
+	}
+	
+	private ArticleMapper byArticle(Long id) {
+		return articleShards.shardOfArticle(id).getArticleMapper();
+	}
+	
+	private ArticleMapper byMember(String memberId) {
+		return articleShards.shardOfMember(memberId).getArticleMapper();
+	}
+	
+	private static List<Article> merge(List<List<Article>> sorted, int limit) {
+		List<Iterator<Article>> sources = new ArrayList<>();
+		sorted.forEach(articles -> sources.add(articles.iterator()));
+		MergingIterator<Article> merged = new MergingIterator<>(sources, BY_ID);
+		List<Article> articles = new ArrayList<>();
+		while (merged.hasNext() && articles.size() < limit) {
+			articles.add(merged.next());
+		}
+		return articles;
+	}
+}
@@ -2,19 +2,42 @@ CREATE TABLE member (
     member_id VARCHAR(50) PRIMARY KEY,
     password VARCHAR(50) NOT NULL,
     nickname VARCHAR(50) NOT NULL,
-    age INT NULL
+    age INT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    article_count BIGINT NOT NULL DEFAULT 0,
+    -- 삭제를 요청한 시각. 게시글이 많은 회원은 먼저 이 값만 채워 숨기고, MemberPurger 가 게시글을 나눠 지운 뒤 행을 삭제합니다.
+    deleted_at DATETIME NULL
 );
 
+CREATE INDEX idx_member_deleted_at ON member (deleted_at);
+
 CREATE TABLE article (
     article_id IDENTITY PRIMARY KEY,
     title VARCHAR(255) NOT NULL,
-    content TEXT NOT NULL,
+    -- 본문은 content_data 에 저장합니다. (CompressedTextTypeHandler 형식, 긴 본문은 압축)
+    -- content 는 압축을 도입하기 전에 저장된 본문으로, ArticleContentMigrator 가 content_data 로 옮기고 NULL 로 바꿉니다.
+    -- 기존 DB 는 다음 두 문장을 실행하면 됩니다. (테이블을 다시 쓰지 않습니다.)
+    --   ALTER TABLE article ALTER COLUMN content SET NULL;
+    --   ALTER TABLE article ADD COLUMN content_data BLOB;
+    content TEXT NULL,
+    content_data BLOB NULL,
     created_at DATETIME NOT NULL,
     updated_at DATETIME NOT NULL,
     member_id VARCHAR(50),
+    view_count BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (member_id) REFERENCES member(member_id) ON DELETE CASCADE
 );
 
+CREATE INDEX idx_article_member_id_article_id ON article (member_id, article_id DESC);
+
+-- 전체 게시글 수. 한 행에 쓰기가 몰리지 않도록 여러 행(stripe)에 나눠 더하고, 읽을 때 합칩니다.
+CREATE TABLE article_counter (
+    stripe INT PRIMARY KEY,
+    article_count BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO article_counter (stripe) SELECT X - 1 FROM SYSTEM_RANGE(1, 16);
+
 INSERT INTO member (member_id, password, nickname, age)
 VALUES
 ('jony123', 'jonyjony1212', '조니', 40),
@@ -25,4 +48,7 @@ INSERT INTO article (title, content, created_at, updated_at, member_id)
 VALUES
 ('안녕 얘들아!', '나는 새로 온 전학생 조니야', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'jony123'),
 ('수학책 빌려줄사람?', '다음 시간 수학인데 깜빡하고 책 안가져옴 ㅠㅠ', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'sylvie456'),
-('실비야 사실 널 좋아해!', 'ㅈㄱㄴ', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'nana777');
\ No newline at end of file
+('실비야 사실 널 좋아해!', 'ㅈㄱㄴ', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'nana777');
+
+UPDATE member m SET article_count = (SELECT COUNT(*) FROM article a WHERE a.member_id = m.member_id);
+UPDATE article_counter SET article_count = (SELECT COUNT(*) FROM article) WHERE stripe = 0;
\ No newline at end of file
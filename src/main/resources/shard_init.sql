@@ -0,0 +1,19 @@
+-- 샤드 DB 의 게시글 테이블입니다. (articles.sharding.urls 를 설정하면 애플리케이션이 시작할 때 샤드마다 실행합니다.)
+-- 회원 테이블은 주 DB 에만 있으므로 FK 를 두지 않고, 회원을 삭제할 때 MemberService 가 게시글을 직접 지웁니다.
+-- article_id 는 (article_seq 값 * 1024 + 버킷) 입니다. article_seq 는 샤드마다 만듭니다. (Shard.initialize 참고)
+CREATE TABLE IF NOT EXISTS article (
+    article_id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    content TEXT NULL,
+    content_data BLOB NULL,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL,
+    member_id VARCHAR(50),
+    view_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- 본문 압축(content_data)을 도입하기 전에 만든 샤드
+ALTER TABLE article ALTER COLUMN content SET NULL;
+ALTER TABLE article ADD COLUMN IF NOT EXISTS content_data BLOB;
+
+CREATE INDEX IF NOT EXISTS idx_article_member_id_article_id ON article (member_id, article_id DESC);
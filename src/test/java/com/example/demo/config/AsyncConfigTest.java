@@ -0,0 +1,42 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.demo.monitoring.StatementTracker;
+
+class AsyncConfigTest {
+	
+	@Test
+	void testRejectWhenQueueIsFull() {
+		// given
+		ThreadPoolTaskExecutor executor = new AsyncConfig().jdbcExecutor(1, 1, new StatementTracker(Duration.ofSeconds(1), false, 10));
+		executor.initialize();
+		CountDownLatch release = new CountDownLatch(1);
+		Runnable blocking = () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		
+		// when
+		executor.execute(blocking);
+		executor.execute(blocking);
+		
+		// then
+		try {
+			assertThrows(TaskRejectedException.class, () -> executor.execute(blocking));
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+}
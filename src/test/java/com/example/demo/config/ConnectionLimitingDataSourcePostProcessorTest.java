@@ -0,0 +1,77 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * VirtualThreadConfig 는 Java 21 에서만 켜지므로 같은 후처리기를 직접 등록해서 확인합니다.
+ */
+class ConnectionLimitingDataSourcePostProcessorTest {
+	
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+			.withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+			.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+			.withBean(ConnectionLimitingDataSourcePostProcessor.class, () -> new ConnectionLimitingDataSourcePostProcessor(0, Duration.ofSeconds(1)))
+			.withPropertyValues(
+					"spring.datasource.url=jdbc:h2:mem:limit-primary;DB_CLOSE_DELAY=-1",
+					"spring.datasource.hikari.maximum-pool-size=3");
+	
+	@Test
+	void testLimitRoutingDataSourceOnce() {
+		contextRunner
+				.withUserConfiguration(ReadWriteRoutingConfig.class)
+				.withPropertyValues("datasource.replicas.urls=jdbc:h2:mem:limit-replica;DB_CLOSE_DELAY=-1")
+				.run(context -> {
+					// then
+					assertThat(context).hasNotFailed();
+					assertThat(context.getBean("primaryDataSource")).isInstanceOf(HikariDataSource.class);
+					DataSource dataSource = context.getBean(DataSource.class);
+					assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+					ConnectionLimitingDataSource limited = (ConnectionLimitingDataSource) ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+					assertThat(limited.getTargetDataSource()).isInstanceOf(ReadWriteRoutingDataSource.class);
+					assertThat(limited.availablePermits()).isEqualTo(3);
+					
+					// when
+					TransactionTemplate read = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+					read.setReadOnly(true);
+					Integer permitsDuringRead = read.execute(status -> {
+						new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class);
+						return limited.availablePermits();
+					});
+					
+					// then
+					assertThat(permitsDuringRead).isEqualTo(2);
+					assertThat(limited.availablePermits()).isEqualTo(3);
+				});
+	}
+	
+	@Test
+	void testLimitSingleDataSource() {
+		contextRunner.run(context -> {
+			// then
+			assertThat(context).hasNotFailed();
+			DataSource dataSource = context.getBean(DataSource.class);
+			assertThat(dataSource).isInstanceOf(ConnectionLimitingDataSource.class);
+			assertThat(((ConnectionLimitingDataSource) dataSource).availablePermits()).isEqualTo(3);
+		});
+	}
+}
@@ -0,0 +1,40 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class ConnectionLimitingDataSourceTest {
+	
+	@Autowired DataSource dataSource;
+	
+	@Test
+	void testLimit() throws Exception {
+		// given
+		ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(dataSource, 1, Duration.ofMillis(100));
+		Connection first = limited.getConnection();
+		
+		// when
+		assertThrows(SQLTransientConnectionException.class, limited::getConnection);
+		first.close();
+		first.close();
+		
+		// then
+		assertThat(limited.availablePermits()).isEqualTo(1);
+		try (Connection second = limited.getConnection()) {
+			assertThat(second.isValid(1)).isTrue();
+			assertThat(limited.availablePermits()).isZero();
+		}
+		assertThat(limited.availablePermits()).isEqualTo(1);
+	}
+}
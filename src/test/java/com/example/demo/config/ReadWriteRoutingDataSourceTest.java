@@ -0,0 +1,79 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReadWriteRoutingDataSourceTest {
+	
+	@Test
+	void testRouting() throws Exception {
+		// given
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-0", database("replica"));
+		ReplicaSelector replicaSelector = new ReplicaSelector(replicas, Duration.ofSeconds(1), new SimpleMeterRegistry());
+		DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(database("primary"), replicaSelector));
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		TransactionTemplate write = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		TransactionTemplate read = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		read.setReadOnly(true);
+		
+		// when
+		String written = write.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+		String readOnly = read.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+		
+		// then
+		assertThat(written).isEqualTo("primary");
+		assertThat(readOnly).isEqualTo("replica");
+		assertThat(replicaSelector.replicas().get(0).getLatencyNanos()).isPositive();
+	}
+	
+	@Test
+	void testFallbackToPrimary() throws Exception {
+		// given
+		JdbcDataSource down = new JdbcDataSource();
+		down.setURL("jdbc:h2:tcp://127.0.0.1:1/~/down");
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-0", down);
+		ReplicaSelector replicaSelector = new ReplicaSelector(replicas, Duration.ofSeconds(1), new SimpleMeterRegistry());
+		DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(database("fallback"), replicaSelector));
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		TransactionTemplate read = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		read.setReadOnly(true);
+		
+		// when
+		String readOnly = read.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+		replicaSelector.checkHealth();
+		
+		// then
+		assertThat(readOnly).isEqualTo("fallback");
+		assertThat(replicaSelector.replicas().get(0).isHealthy()).isFalse();
+		assertThat(replicaSelector.select()).isNull();
+	}
+	
+	private static DataSource database(String name) throws Exception {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(50))");
+			statement.execute("DELETE FROM node");
+			statement.execute("INSERT INTO node VALUES ('" + name + "')");
+		}
+		return dataSource;
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.demo.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.service.MemberService;
+
+@SpringBootTest(properties = {
+		"api.write-rate-limit.routes.article-create.rate=1",
+		"api.write-rate-limit.routes.article-create.burst=2"
+})
+@AutoConfigureMockMvc
+@Transactional
+class ArticleControllerTest {
+	
+	@Autowired MockMvc mockMvc;
+	@Autowired MemberService memberService;
+	
+	@Test
+	void testCreateBatchLargerThanBurst() throws Exception {
+		// given
+		memberService.createMember("batchid", "testpassword", "testnickname", 20L);
+		String batch = "["
+				+ "{\"title\":\"testtitle1\",\"content\":\"testcontent\",\"memberId\":\"batchid\"},"
+				+ "{\"title\":\"testtitle2\",\"content\":\"testcontent\",\"memberId\":\"batchid\"},"
+				+ "{\"title\":\"testtitle3\",\"content\":\"testcontent\",\"memberId\":\"batchid\"}"
+				+ "]";
+		String single = "{\"title\":\"testtitle4\",\"content\":\"testcontent\",\"memberId\":\"batchid\"}";
+		
+		// when, then
+		mockMvc.perform(post("/api/v1/articles/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.articleIds.length()").value(3));
+		mockMvc.perform(post("/api/v1/articles").contentType(MediaType.APPLICATION_JSON).content(single))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+		mockMvc.perform(post("/api/v1/articles/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+	}
+}
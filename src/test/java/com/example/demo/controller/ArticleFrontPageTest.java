@@ -0,0 +1,76 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.example.demo.controller.ArticleFrontPage.Snapshot;
+import com.example.demo.service.TableVersions;
+import com.example.demo.service.TableVersions.Table;
+
+@SpringBootTest
+class ArticleFrontPageTest {
+	
+	@Autowired
+	private ArticleFrontPage frontPage;
+	
+	@Autowired
+	private TableVersions tableVersions;
+	
+	@Test
+	void testBuild() throws IOException {
+		// given
+		String version = tableVersions.current(Table.ARTICLE);
+		
+		// when
+		frontPage.build();
+		
+		// then
+		Snapshot snapshot = frontPage.current();
+		assertThat(snapshot).isNotNull();
+		assertThat(snapshot.version).isEqualTo(version);
+		assertThat(snapshot.etag).isEqualTo(ETags.list("articles", version));
+		assertThat(new String(snapshot.json)).startsWith("{\"articles\":[");
+		try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip))) {
+			assertThat(gzip.readAllBytes()).isEqualTo(snapshot.json);
+		}
+	}
+	
+	@Test
+	void testRebuildAfterArticleChanged() throws InterruptedException {
+		// given
+		frontPage.build();
+		Snapshot before = frontPage.current();
+		
+		// when
+		tableVersions.changed(Table.ARTICLE);
+		
+		// then
+		assertThat(frontPage.current()).isSameAs(before);
+		String version = tableVersions.current(Table.ARTICLE);
+		for (int i = 0; i < 50 && !frontPage.current().version.equals(version); i++) {
+			Thread.sleep(20);
+		}
+		assertThat(frontPage.current().version).isEqualTo(version);
+	}
+	
+	@Test
+	void testDisabled() {
+		new ApplicationContextRunner()
+				.withPropertyValues("articles.front-page.enabled=false")
+				.withUserConfiguration(ArticleFrontPage.class, ArticleFrontPageFilter.class)
+				.run(context -> {
+					// then
+					assertThat(context).hasNotFailed();
+					assertThat(context).doesNotHaveBean(ArticleFrontPage.class);
+					assertThat(context).doesNotHaveBean(ArticleFrontPageFilter.class);
+				});
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import com.example.demo.controller.ConcurrencyLimiter.Group;
+import com.example.demo.controller.ConcurrencyLimiter.Settings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConcurrencyLimitInterceptorTest {
+	
+	@Test
+	void testIgnoreOwnServiceUnavailable() throws Exception {
+		// given
+		ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(settings(), new SimpleMeterRegistry());
+		ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(concurrencyLimiter);
+		HandlerMethod handler = new HandlerMethod(new Handler(), Handler.class.getMethod("list"));
+		
+		// when
+		MockHttpServletRequest shed = new MockHttpServletRequest("GET", "/");
+		MockHttpServletResponse shedResponse = new MockHttpServletResponse();
+		interceptor.preHandle(shed, shedResponse, handler);
+		shedResponse.setStatus(503);
+		interceptor.afterCompletion(shed, shedResponse, handler, null);
+		
+		// then
+		assertThat(concurrencyLimiter.limit(Group.LIST)).isEqualTo(10);
+		
+		// when
+		MockHttpServletRequest failed = new MockHttpServletRequest("GET", "/");
+		MockHttpServletResponse failedResponse = new MockHttpServletResponse();
+		interceptor.preHandle(failed, failedResponse, handler);
+		failedResponse.setStatus(500);
+		interceptor.afterCompletion(failed, failedResponse, handler, new QueryTimeoutException("timeout"));
+		
+		// then
+		assertThat(concurrencyLimiter.limit(Group.LIST)).isEqualTo(9);
+	}
+	
+	@Test
+	void testIgnoreNotFound() throws Exception {
+		// given
+		ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(settings(), new SimpleMeterRegistry());
+		ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(concurrencyLimiter);
+		HandlerMethod handler = new HandlerMethod(new Handler(), Handler.class.getMethod("list"));
+		
+		// when
+		for (int i = 0; i < 5; i++) {
+			MockHttpServletRequest notFound = new MockHttpServletRequest("GET", "/");
+			MockHttpServletResponse notFoundResponse = new MockHttpServletResponse();
+			interceptor.preHandle(notFound, notFoundResponse, handler);
+			notFoundResponse.setStatus(500);
+			interceptor.afterCompletion(notFound, notFoundResponse, handler, new NoSuchElementException("아이디에 해당하는 게시글이 존재하지 않습니다."));
+		}
+		
+		// then
+		for (Group group : Group.values()) {
+			assertThat(concurrencyLimiter.limit(group)).isEqualTo(10);
+		}
+	}
+	
+	private static Map<Group, Settings> settings() {
+		Map<Group, Settings> settings = new EnumMap<>(Group.class);
+		for (Group group : Group.values()) {
+			settings.put(group, new Settings(10, 1, 100, Duration.ofMinutes(1)));
+		}
+		return settings;
+	}
+	
+	static class Handler {
+		
+		public String list() {
+			return "";
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.controller.ConcurrencyLimiter.Group;
+import com.example.demo.controller.ConcurrencyLimiter.Permit;
+import com.example.demo.controller.ConcurrencyLimiter.Settings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConcurrencyLimiterTest {
+	
+	@Test
+	void testRejectAtLimit() {
+		// given
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(settings(2, Duration.ofMinutes(1)), meterRegistry);
+		
+		// when
+		Permit first = concurrencyLimiter.tryAcquire(Group.LIST);
+		Permit second = concurrencyLimiter.tryAcquire(Group.LIST);
+		Permit third = concurrencyLimiter.tryAcquire(Group.LIST);
+		Permit read = concurrencyLimiter.tryAcquire(Group.READ);
+		concurrencyLimiter.release(first, false, false);
+		concurrencyLimiter.release(first, false, false);
+		Permit afterRelease = concurrencyLimiter.tryAcquire(Group.LIST);
+		
+		// then
+		assertThat(first).isNotNull();
+		assertThat(second).isNotNull();
+		assertThat(third).isNull();
+		assertThat(read).isNotNull();
+		assertThat(afterRelease).isNotNull();
+		assertThat(concurrencyLimiter.tryAcquire(Group.LIST)).isNull();
+		assertThat(meterRegistry.get("api.concurrency.rejected").tag("group", "list").counter().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("api.concurrency.inflight").tag("group", "list").gauge().value()).isEqualTo(2);
+	}
+	
+	@Test
+	void testIncreaseWhenFastAndUsed() {
+		// given
+		ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(settings(2, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+		
+		// when
+		Permit first = concurrencyLimiter.tryAcquire(Group.WRITE);
+		Permit second = concurrencyLimiter.tryAcquire(Group.WRITE);
+		concurrencyLimiter.release(first, false, true);
+		concurrencyLimiter.release(second, false, true);
+		
+		// then
+		assertThat(concurrencyLimiter.limit(Group.WRITE)).isEqualTo(4);
+		assertThat(concurrencyLimiter.limit(Group.READ)).isEqualTo(2);
+	}
+	
+	@Test
+	void testSlowReadShedsLowerPriorityGroups() {
+		// given
+		ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(settings(20, Duration.ZERO), new SimpleMeterRegistry());
+		
+		// when
+		for (int i = 0; i < 30; i++) {
+			concurrencyLimiter.release(concurrencyLimiter.tryAcquire(Group.READ), false, true);
+		}
+		
+		// then
+		assertThat(concurrencyLimiter.limit(Group.READ)).isLessThan(20);
+		assertThat(concurrencyLimiter.limit(Group.WRITE)).isEqualTo(1);
+		assertThat(concurrencyLimiter.limit(Group.LIST)).isEqualTo(1);
+		assertThat(concurrencyLimiter.tryAcquire(Group.READ)).isNotNull();
+	}
+	
+	@Test
+	void testDecreaseOncePerStall() {
+		// given
+		ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(settings(20, Duration.ZERO), new SimpleMeterRegistry());
+		List<Permit> stalled = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			stalled.add(concurrencyLimiter.tryAcquire(Group.READ));
+		}
+		
+		// when
+		stalled.forEach(permit -> concurrencyLimiter.release(permit, false, true));
+		
+		// then
+		assertThat(concurrencyLimiter.limit(Group.READ)).isEqualTo(18);
+		assertThat(concurrencyLimiter.limit(Group.WRITE)).isEqualTo(18);
+		assertThat(concurrencyLimiter.limit(Group.LIST)).isEqualTo(18);
+		
+		// when
+		concurrencyLimiter.release(concurrencyLimiter.tryAcquire(Group.READ), false, true);
+		
+		// then
+		assertThat(concurrencyLimiter.limit(Group.READ)).isEqualTo(16);
+	}
+	
+	@Test
+	void testSlowListDoesNotShedReads() {
+		// given
+		ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(settings(20, Duration.ZERO), new SimpleMeterRegistry());
+		
+		// when
+		for (int i = 0; i < 30; i++) {
+			concurrencyLimiter.release(concurrencyLimiter.tryAcquire(Group.LIST), true, false);
+		}
+		
+		// then
+		assertThat(concurrencyLimiter.limit(Group.LIST)).isEqualTo(1);
+		assertThat(concurrencyLimiter.limit(Group.READ)).isEqualTo(20);
+		assertThat(concurrencyLimiter.limit(Group.WRITE)).isEqualTo(20);
+	}
+	
+	private static Map<Group, Settings> settings(int initialLimit, Duration targetLatency) {
+		Map<Group, Settings> settings = new EnumMap<>(Group.class);
+		for (Group group : Group.values()) {
+			settings.put(group, new Settings(initialLimit, group == Group.READ ? 2 : 1, 100, targetLatency));
+		}
+		return settings;
+	}
+}
@@ -0,0 +1,24 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class ETagsTest {
+	
+	@Test
+	void testMatchWeakArticleETag() {
+		// given
+		String etag = ETags.article(1L, LocalDateTime.of(2024, 1, 1, 0, 0));
+		
+		// when, then
+		assertThat(etag).startsWith("W/\"a1-");
+		assertThat(ETags.matches(etag, etag)).isTrue();
+		assertThat(ETags.matches(etag.substring(2), etag)).isTrue();
+		assertThat(ETags.matches("\"other\", " + etag, etag)).isTrue();
+		assertThat(ETags.matches(ETags.article(1L, LocalDateTime.of(2024, 1, 2, 0, 0)), etag)).isFalse();
+		assertThat(ETags.matches(null, etag)).isFalse();
+	}
+}
@@ -0,0 +1,136 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.controller.WriteRateLimiter.Route;
+import com.example.demo.controller.WriteRateLimiter.Settings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WriteRateLimiterTest {
+	
+	private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+	
+	@Test
+	void testRejectAfterBurst() {
+		// given
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		WriteRateLimiter writeRateLimiter = writeRateLimiter(settings(1, 3), meterRegistry);
+		for (int i = 0; i < 3; i++) {
+			writeRateLimiter.acquire(Route.ARTICLE_CREATE, "member1");
+		}
+		
+		// when, then
+		assertThatThrownBy(() -> writeRateLimiter.acquire(Route.ARTICLE_CREATE, "member1"))
+				.isInstanceOfSatisfying(WriteRateLimitExceededException.class, e -> {
+					assertThat(e.getRoute()).isEqualTo(Route.ARTICLE_CREATE);
+					assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(1));
+				});
+		assertThat(meterRegistry.get("api.write_rate_limit.rejected").tag("route", "article-create").counter().count()).isEqualTo(1);
+	}
+	
+	@Test
+	void testRefillOverTime() {
+		// given
+		WriteRateLimiter writeRateLimiter = writeRateLimiter(settings(2, 2), new SimpleMeterRegistry());
+		writeRateLimiter.acquire(Route.MEMBER_UPDATE, "member1");
+		writeRateLimiter.acquire(Route.MEMBER_UPDATE, "member1");
+		
+		// when
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+		writeRateLimiter.acquire(Route.MEMBER_UPDATE, "member1");
+		
+		// then
+		assertThatThrownBy(() -> writeRateLimiter.acquire(Route.MEMBER_UPDATE, "member1"))
+				.isInstanceOf(WriteRateLimitExceededException.class);
+	}
+	
+	@Test
+	void testMembersAndRoutesAreIndependent() {
+		// given
+		Map<Route, Settings> settings = settings(1, 1);
+		settings.put(Route.ARTICLE_DELETE, new Settings(0, 1));
+		WriteRateLimiter writeRateLimiter = writeRateLimiter(settings, new SimpleMeterRegistry());
+		
+		// when
+		writeRateLimiter.acquire(Route.ARTICLE_UPDATE, "member1");
+		writeRateLimiter.acquire(Route.ARTICLE_UPDATE, "member2");
+		writeRateLimiter.acquire(Route.MEMBER_UPDATE, "member1");
+		for (int i = 0; i < 10; i++) {
+			writeRateLimiter.acquire(Route.ARTICLE_DELETE, "member1");
+		}
+		
+		// then
+		assertThatThrownBy(() -> writeRateLimiter.acquire(Route.ARTICLE_UPDATE, "member1"))
+				.isInstanceOf(WriteRateLimitExceededException.class);
+	}
+	
+	@Test
+	void testRefundWhenBatchRejected() {
+		// given
+		WriteRateLimiter writeRateLimiter = writeRateLimiter(settings(1, 3), new SimpleMeterRegistry());
+		writeRateLimiter.acquire(Route.ARTICLE_CREATE, "member2");
+		writeRateLimiter.acquire(Route.ARTICLE_CREATE, "member2");
+		writeRateLimiter.acquire(Route.ARTICLE_CREATE, "member2");
+		Map<String, Integer> permits = new LinkedHashMap<>();
+		permits.put("member1", 2);
+		permits.put("member2", 1);
+		
+		// when
+		assertThatThrownBy(() -> writeRateLimiter.acquire(Route.ARTICLE_CREATE, permits))
+				.isInstanceOf(WriteRateLimitExceededException.class);
+		
+		// then
+		writeRateLimiter.acquire(Route.ARTICLE_CREATE, Map.of("member1", 3));
+		assertThatThrownBy(() -> writeRateLimiter.acquire(Route.ARTICLE_CREATE, "member1"))
+				.isInstanceOf(WriteRateLimitExceededException.class);
+	}
+	
+	@Test
+	void testChargeBatchLargerThanBurst() {
+		// given
+		WriteRateLimiter writeRateLimiter = writeRateLimiter(settings(1, 3), new SimpleMeterRegistry());
+		
+		// when
+		writeRateLimiter.acquire(Route.ARTICLE_CREATE, Map.of("member1", 5));
+		
+		// then
+		assertThatThrownBy(() -> writeRateLimiter.acquire(Route.ARTICLE_CREATE, "member1"))
+				.isInstanceOfSatisfying(WriteRateLimitExceededException.class,
+						e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(3)));
+		assertThatThrownBy(() -> writeRateLimiter.acquire(Route.ARTICLE_CREATE, Map.of("member1", 5)))
+				.isInstanceOfSatisfying(WriteRateLimitExceededException.class,
+						e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(5)));
+		
+		// when
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(4500));
+		
+		// then
+		writeRateLimiter.acquire(Route.ARTICLE_CREATE, "member1");
+		writeRateLimiter.acquire(Route.ARTICLE_CREATE, "member1");
+		assertThatThrownBy(() -> writeRateLimiter.acquire(Route.ARTICLE_CREATE, "member1"))
+				.isInstanceOf(WriteRateLimitExceededException.class);
+	}
+	
+	private WriteRateLimiter writeRateLimiter(Map<Route, Settings> settings, SimpleMeterRegistry meterRegistry) {
+		return new WriteRateLimiter(settings, 1000, meterRegistry, now::get);
+	}
+	
+	private static Map<Route, Settings> settings(double rate, int burst) {
+		Map<Route, Settings> settings = new EnumMap<>(Route.class);
+		for (Route route : Route.values()) {
+			settings.put(route, new Settings(rate, burst));
+		}
+		return settings;
+	}
+}
@@ -2,15 +2,22 @@ package com.example.demo.mapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.model.Article;
@@ -22,6 +29,8 @@ class ArticleMapperTest {
 	
 	@Autowired ArticleMapper articleMapper;
 	@Autowired MemberMapper memberMapper;
+	@Autowired SqlSessionFactory sqlSessionFactory;
+	@Autowired JdbcTemplate jdbcTemplate;
 	
 	Member member;
 	Article article1;
@@ -68,6 +77,41 @@ class ArticleMapperTest {
 		// then
 		assertThat(foundArticles.size()).isEqualTo(2L);
 	}
+	
+	@Test
+	void testStreamAll() throws IOException {
+		// given
+		articleMapper.save(article1);
+		articleMapper.save(article2);
+		List<Long> streamedIds = new ArrayList<>();
+		
+		// when
+		try (Cursor<Article> cursor = articleMapper.streamAll()) {
+			cursor.forEach(a -> streamedIds.add(a.getId()));
+		}
+		
+		// then
+		assertThat(streamedIds).containsExactly(article1.getId(), article2.getId());
+	}
+	
+	@Test
+	void testFindPage() {
+		// given
+		articleMapper.save(article1);
+		articleMapper.save(article2);
+		
+		// when
+		List<Article> firstPage = articleMapper.findPage(null, 1);
+		List<Article> secondPage = articleMapper.findPage(firstPage.get(0).getId(), 1);
+		List<Article> lastPage = articleMapper.findPage(secondPage.get(0).getId(), 1);
+		
+		// then
+		assertThat(firstPage.size()).isEqualTo(1L);
+		assertThat(firstPage.get(0).getId()).isEqualTo(article1.getId());
+		assertThat(secondPage.size()).isEqualTo(1L);
+		assertThat(secondPage.get(0).getId()).isEqualTo(article2.getId());
+		assertThat(lastPage.size()).isEqualTo(0L);
+	}
 
 	@Test
 	void testFindById() {
@@ -126,6 +170,43 @@ class ArticleMapperTest {
 		// then
 		assertThat(foundArticles.size()).isEqualTo(0L);
 	}
+	
+	@Test
+	void testFindPageByMemberId() {
+		// given
+		articleMapper.save(article1);
+		articleMapper.save(article2);
+		
+		// when
+		List<Article> firstPage = articleMapper.findPageByMemberId(member.getId(), null, 1);
+		List<Article> secondPage = articleMapper.findPageByMemberId(member.getId(), firstPage.get(0).getId(), 1);
+		List<Article> lastPage = articleMapper.findPageByMemberId(member.getId(), secondPage.get(0).getId(), 1);
+		
+		// then
+		assertThat(firstPage.get(0).getId()).isEqualTo(article2.getId());
+		assertThat(secondPage.get(0).getId()).isEqualTo(article1.getId());
+		assertThat(lastPage.size()).isEqualTo(0L);
+	}
+	
+	@Test
+	void testFindPageByMemberIdUsesIndex() {
+		// given
+		Map<String, Object> params = new HashMap<>();
+		params.put("memberId", member.getId());
+		params.put("before", 10L);
+		params.put("size", 3);
+		String sql = sqlSessionFactory.getConfiguration()
+				.getMappedStatement(ArticleMapper.class.getName() + ".findPageByMemberId")
+				.getBoundSql(params)
+				.getSql();
+		
+		// when
+		String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, member.getId(), 10L, 3);
+		
+		// then
+		assertThat(plan).contains("IDX_ARTICLE_MEMBER_ID_ARTICLE_ID: MEMBER_ID = ?1");
+		assertThat(plan).contains("/* index sorted */");
+	}
 
 	@Test
 	void testSave() {
@@ -188,6 +269,39 @@ class ArticleMapperTest {
 		assertThat(isSuccess).isEqualTo(0L);
 	}
 
+	@Test
+	void testUpdateTitleAndContent() {
+		// given
+		articleMapper.save(article1);
+		Article changedArticle = new Article();
+		changedArticle.setId(article1.getId());
+		changedArticle.setTitle("changedtitle");
+		changedArticle.setContent("changedcontent");
+		changedArticle.setUpdatedAt(LocalDateTime.now());
+		
+		// when
+		Long isSuccess = articleMapper.updateTitleAndContent(changedArticle);
+		Article foundArticle = articleMapper.findById(article1.getId()).get();
+		
+		// then
+		assertThat(isSuccess).isEqualTo(1L);
+		assertThat(foundArticle.getTitle()).isEqualTo("changedtitle");
+		assertThat(foundArticle.getContent()).isEqualTo("changedcontent");
+		assertThat(foundArticle.getMemberId()).isEqualTo(article1.getMemberId());
+	}
+	
+	@Test
+	void testUpdateTitleAndContentInvalidId() {
+		// given
+		article1.setId(99L);
+		
+		// when
+		Long isSuccess = articleMapper.updateTitleAndContent(article1);
+		
+		// then
+		assertThat(isSuccess).isEqualTo(0L);
+	}
+	
 	@Test
 	void testDeleteById() {
 		// given
@@ -202,6 +316,21 @@ class ArticleMapperTest {
 		assertThat(foundArticle).isEqualTo(Optional.empty());
 	}
 	
+	@Test
+	void testDeleteByIdAndMemberId() {
+		// given
+		articleMapper.save(article1);
+		
+		// when
+		Long otherMember = articleMapper.deleteByIdAndMemberId(article1.getId(), "otherid");
+		Long author = articleMapper.deleteByIdAndMemberId(article1.getId(), article1.getMemberId());
+		
+		// then
+		assertThat(otherMember).isEqualTo(0L);
+		assertThat(author).isEqualTo(1L);
+		assertThat(articleMapper.findById(article1.getId())).isEqualTo(Optional.empty());
+	}
+	
 	@Test
 	void testDeleteByIdInvalidId() {
 		// given
@@ -213,6 +342,44 @@ class ArticleMapperTest {
 		assertThat(isSuccess).isEqualTo(0L);
 	}
 
+	@Test
+	void testSaveCompressesLongContent() {
+		// given
+		article1.setContent("긴 본문입니다. ".repeat(500));
+		
+		// when
+		articleMapper.save(article1);
+		byte[] stored = jdbcTemplate.queryForObject("SELECT content_data FROM article WHERE article_id = ?", byte[].class, article1.getId());
+		Article foundArticle = articleMapper.findById(article1.getId()).get();
+		
+		// then
+		assertThat(stored[0]).isEqualTo((byte) 0xFF);
+		assertThat(stored.length).isLessThan(article1.getContent().length());
+		assertThat(foundArticle.getContent()).isEqualTo(article1.getContent());
+	}
+	
+	@Test
+	void testMigrateLegacyContent() {
+		// given
+		jdbcTemplate.update("INSERT INTO article (title, content, created_at, updated_at, member_id) VALUES ('legacy', ?, NOW(), NOW(), ?)",
+				"압축 전에 저장된 본문", member.getId());
+		Long id = jdbcTemplate.queryForObject("SELECT MAX(article_id) FROM article", Long.class);
+		
+		// when
+		String contentBefore = articleMapper.findById(id).get().getContent();
+		List<Article> legacyArticles = articleMapper.findLegacyContentPage(0, 10);
+		Long migrated = legacyArticles.stream().mapToLong(articleMapper::migrateContent).sum();
+		Long migratedAgain = articleMapper.migrateContent(legacyArticles.get(0));
+		
+		// then
+		assertThat(contentBefore).isEqualTo("압축 전에 저장된 본문");
+		assertThat(legacyArticles).extracting(Article::getId).contains(id);
+		assertThat(migrated).isEqualTo(legacyArticles.size());
+		assertThat(migratedAgain).isEqualTo(0L);
+		assertThat(articleMapper.findLegacyContentPage(0, 10)).isEmpty();
+		assertThat(articleMapper.findById(id).get().getContent()).isEqualTo("압축 전에 저장된 본문");
+	}
+	
 	@Test
 	void testDeleteAll() {
 		// given
@@ -0,0 +1,65 @@
+package com.example.demo.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class CompressedTextTypeHandlerTest {
+	
+	@Test
+	void testCompressLongText() {
+		// given
+		String text = "게시글 본문입니다. ".repeat(1000);
+		
+		// when
+		byte[] stored = CompressedTextTypeHandler.encode(text);
+		
+		// then
+		assertThat(stored[0]).isEqualTo(CompressedTextTypeHandler.HEADER);
+		assertThat(stored[1]).isEqualTo(CompressedTextTypeHandler.CODEC_DEFLATE);
+		assertThat(stored.length).isLessThan(text.getBytes(StandardCharsets.UTF_8).length / 10);
+		assertThat(CompressedTextTypeHandler.decode(stored)).isEqualTo(text);
+	}
+	
+	@Test
+	void testStoreShortTextAsUtf8() {
+		// given
+		String shortText = "짧은 본문";
+		
+		// when
+		byte[] stored = CompressedTextTypeHandler.encode(shortText);
+		
+		// then
+		assertThat(stored).isEqualTo(shortText.getBytes(StandardCharsets.UTF_8));
+		assertThat(CompressedTextTypeHandler.decode(stored)).isEqualTo(shortText);
+		assertThat(CompressedTextTypeHandler.decode(new byte[0])).isEmpty();
+	}
+	
+	@Test
+	void testRejectUnknownCodec() {
+		// given
+		byte[] stored = CompressedTextTypeHandler.encode("a".repeat(1000));
+		stored[1] = 9;
+		
+		// when, then
+		assertThatThrownBy(() -> CompressedTextTypeHandler.decode(stored)).isInstanceOf(IllegalStateException.class);
+	}
+	
+	@Test
+	void testRejectCorruptedLength() {
+		// given
+		byte[] stored = CompressedTextTypeHandler.encode("a".repeat(1000));
+		byte[] negative = stored.clone();
+		ByteBuffer.wrap(negative, 2, 4).putInt(-1);
+		byte[] huge = stored.clone();
+		ByteBuffer.wrap(huge, 2, 4).putInt(Integer.MAX_VALUE);
+		
+		// when, then
+		assertThatThrownBy(() -> CompressedTextTypeHandler.decode(negative)).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> CompressedTextTypeHandler.decode(huge)).isInstanceOf(IllegalStateException.class);
+	}
+}
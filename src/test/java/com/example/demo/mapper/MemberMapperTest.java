@@ -3,15 +3,18 @@ package com.example.demo.mapper;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.model.Member;
@@ -23,6 +26,12 @@ class MemberMapperTest {
 	@Autowired
 	MemberMapper memberMapper;
 
+	@Autowired
+	SqlSessionFactory sqlSessionFactory;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
 	Member member1;
 	Member member2;
 
@@ -84,6 +93,77 @@ class MemberMapperTest {
 		assertThat(foundMember).isEqualTo(Optional.empty());
 	}
 
+	@Test
+	void testExistsById() {
+		// given
+		memberMapper.save(member1);
+		
+		// when
+		boolean exists = memberMapper.existsById(member1.getId());
+		boolean notExists = memberMapper.existsById("invalidid");
+		
+		// then
+		assertThat(exists).isTrue();
+		assertThat(notExists).isFalse();
+	}
+	
+	@Test
+	void testFindExistingIds() {
+		// given
+		memberMapper.save(member1);
+		memberMapper.save(member2);
+		
+		// when
+		List<String> existingIds = memberMapper.findExistingIds(List.of(member1.getId(), "invalidid", member2.getId()));
+		
+		// then
+		assertThat(existingIds).containsExactlyInAnyOrder(member1.getId(), member2.getId());
+	}
+	
+	@Test
+	void testScanIds() {
+		// given
+		memberMapper.save(member1);
+		memberMapper.save(member2);
+		List<String> scannedIds = new ArrayList<>();
+		
+		// when
+		memberMapper.scanIds(context -> scannedIds.add(context.getResultObject()));
+		
+		// then
+		assertThat(scannedIds).containsExactlyInAnyOrder(member1.getId(), member2.getId());
+	}
+	
+	@Test
+	void testFindDeletedIds() {
+		// given
+		memberMapper.save(member1);
+		memberMapper.save(member2);
+		memberMapper.markDeleted(member2.getId());
+		
+		// when
+		List<String> deletedIds = memberMapper.findDeletedIds();
+		
+		// then
+		assertThat(deletedIds).containsExactly(member2.getId());
+	}
+	
+	@Test
+	void testFindDeletedIdsUsesIndex() {
+		// given
+		String sql = sqlSessionFactory.getConfiguration()
+				.getMappedStatement(MemberMapper.class.getName() + ".findDeletedIds")
+				.getBoundSql(null)
+				.getSql();
+		
+		// when
+		String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+		
+		// then
+		assertThat(plan).contains("IDX_MEMBER_DELETED_AT: DELETED_AT >");
+		assertThat(plan).contains("/* index sorted */");
+	}
+
 	@Test
 	void testSave() {
 		// given
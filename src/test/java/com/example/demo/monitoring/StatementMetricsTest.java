@@ -0,0 +1,65 @@
+package com.example.demo.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.example.demo.mapper.MemberMapper;
+import com.example.demo.model.Article;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+@Transactional
+class StatementMetricsTest {
+	
+	@Autowired MeterRegistry meterRegistry;
+	@Autowired MemberMapper memberMapper;
+	@Autowired ArticleMapper articleMapper;
+	
+	@Test
+	void testQueryTimer() {
+		// given
+		long before = timerCount(MemberMapper.class.getName() + ".findAll", "success");
+		
+		// when
+		memberMapper.findAll();
+		
+		// then
+		assertThat(timerCount(MemberMapper.class.getName() + ".findAll", "success")).isEqualTo(before + 1);
+		assertThat(meterRegistry.get("mybatis.statement.rows")
+				.tag("statement", MemberMapper.class.getName() + ".findAll")
+				.summary().count()).isPositive();
+	}
+	
+	@Test
+	void testErrorCounter() {
+		// given
+		long before = timerCount(ArticleMapper.class.getName() + ".save", "error");
+		Article article = new Article();
+		
+		// when
+		assertThrows(DataIntegrityViolationException.class, () -> articleMapper.save(article));
+		
+		// then
+		assertThat(timerCount(ArticleMapper.class.getName() + ".save", "error")).isEqualTo(before + 1);
+		assertThat(meterRegistry.get("mybatis.statement.errors")
+				.tag("statement", ArticleMapper.class.getName() + ".save")
+				.counter().count()).isPositive();
+	}
+	
+	private long timerCount(String statementId, String outcome) {
+		Timer timer = meterRegistry.find("mybatis.statement")
+				.tag("statement", statementId)
+				.tag("outcome", outcome)
+				.timer();
+		return timer == null ? 0 : timer.count();
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.demo.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.example.demo.mapper.MemberMapper;
+import com.example.demo.monitoring.StatementTracker.RequestStatements;
+
+@SpringBootTest(properties = {
+		"mybatis.tracking.slow-threshold=0ms",
+		"mybatis.tracking.repeat-threshold=3"})
+@Transactional
+class StatementTrackerTest {
+	
+	@Autowired StatementTracker statementTracker;
+	@Autowired MemberMapper memberMapper;
+	@Autowired ArticleMapper articleMapper;
+	
+	@Test
+	void testRepeatedStatements() {
+		// given
+		RequestStatements statements = statementTracker.begin("GET /test/repeat");
+		
+		// when
+		for (int i = 0; i < 4; i++) {
+			memberMapper.findById("member" + i);
+		}
+		memberMapper.findAll();
+		statementTracker.detach();
+		Map<String, Integer> repeated = statementTracker.end(statements, "GET /test/repeat");
+		
+		// then
+		assertThat(repeated).containsExactly(Map.entry(MemberMapper.class.getName() + ".findById", 4));
+		Map<?, ?> requests = (Map<?, ?>) statementTracker.snapshot().get("requests");
+		Map<?, ?> stats = (Map<?, ?>) requests.get("GET /test/repeat");
+		assertThat(stats.get("statements")).isEqualTo(5L);
+		assertThat(stats.get("repeatedRequests")).isEqualTo(1L);
+	}
+	
+	@Test
+	void testSlowStatementWithPlan() {
+		// given
+		
+		// when
+		articleMapper.findPageByMemberId("slowid", 10L, 5);
+		
+		// then
+		List<?> recent = (List<?>) statementTracker.snapshot().get("recentSlowQueries");
+		Map<?, ?> latest = (Map<?, ?>) recent.get(0);
+		assertThat(latest.get("statement")).isEqualTo(ArticleMapper.class.getName() + ".findPageByMemberId");
+		assertThat(latest.get("parameters")).isEqualTo(List.of("slowid", "10", "5"));
+		assertThat((String) latest.get("plan")).contains("IDX_ARTICLE_MEMBER_ID_ARTICLE_ID");
+	}
+}
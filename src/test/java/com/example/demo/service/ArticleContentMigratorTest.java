@@ -0,0 +1,50 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.mapper.ArticleMapper;
+import com.example.demo.sharding.ArticleShards;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@Transactional
+class ArticleContentMigratorTest {
+	
+	@Autowired ArticleShards articleShards;
+	@Autowired PlatformTransactionManager transactionManager;
+	@Autowired ArticleMapper articleMapper;
+	@Autowired JdbcTemplate jdbcTemplate;
+	
+	@Test
+	void testMigrateInChunks() {
+		// given
+		for (int i = 0; i < 3; i++) {
+			jdbcTemplate.update("INSERT INTO article (title, content, created_at, updated_at) VALUES (?, ?, NOW(), NOW())",
+					"legacy" + i, "압축 전 본문 " + i + " ".repeat(300));
+		}
+		Long lastId = jdbcTemplate.queryForObject("SELECT MAX(article_id) FROM article", Long.class);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ArticleContentMigrator migrator = new ArticleContentMigrator(articleShards, transactionManager, meterRegistry, 2);
+		
+		// when
+		int first = migrator.migrateChunk();
+		int second = migrator.migrateChunk();
+		int third = migrator.migrateChunk();
+		
+		// then
+		assertThat(first).isEqualTo(2);
+		assertThat(second).isEqualTo(1);
+		assertThat(third).isEqualTo(0);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(content) FROM article", Long.class)).isEqualTo(0L);
+		assertThat(articleMapper.findById(lastId).get().getContent()).isEqualTo("압축 전 본문 2" + " ".repeat(300));
+		assertThat(meterRegistry.get("articles.content_migration.migrated").counter().count()).isEqualTo(3);
+	}
+}
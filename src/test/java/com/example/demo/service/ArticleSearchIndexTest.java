@@ -0,0 +1,108 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.model.Article;
+import com.example.demo.model.ArticleSearchResult;
+
+class ArticleSearchIndexTest {
+	
+	ArticleSearchIndex articleSearchIndex;
+	
+	@BeforeEach
+	void setUp() {
+		articleSearchIndex = new ArticleSearchIndex(null);
+		articleSearchIndex.index(article(1L, "스프링 부트 입문", "마이바티스와 함께 게시판을 만듭니다.", "member1"));
+		articleSearchIndex.index(article(2L, "오늘의 점심", "스프링 이야기는 하지 않습니다.", "member2"));
+		articleSearchIndex.index(article(3L, "Java 17 정리", "record 와 sealed class", "member1"));
+	}
+	
+	@Test
+	void testTokenize() {
+		// given
+		String text = "스프링부트, Java 가";
+		
+		// when
+		
+		// then
+		assertThat(ArticleSearchIndex.tokenize(text))
+				.containsExactly("스프", "프링", "링부", "부트", "ja", "av", "va", "가");
+	}
+	
+	@Test
+	void testSearchRanksTitleFirst() {
+		// given
+		
+		// when
+		ArticleSearchResult result = articleSearchIndex.search("스프링", 0, 10);
+		
+		// then
+		assertThat(result.getTotalCount()).isEqualTo(2);
+		assertThat(result.getArticles()).extracting(Article::getId).containsExactly(1L, 2L);
+		assertThat(result.getArticles().get(0).getTitle()).isEqualTo("스프링 부트 입문");
+	}
+	
+	@Test
+	void testSearchPaging() {
+		// given
+		
+		// when
+		ArticleSearchResult result = articleSearchIndex.search("스프링", 1, 10);
+		
+		// then
+		assertThat(result.getTotalCount()).isEqualTo(2);
+		assertThat(result.getArticles()).extracting(Article::getId).containsExactly(2L);
+	}
+	
+	@Test
+	void testUpdate() {
+		// given
+		
+		// when
+		articleSearchIndex.update(3L, "member1", "자바 정리", "스프링 없이 자바만 다룹니다.");
+		
+		// then
+		assertThat(articleSearchIndex.search("java", 0, 10).getTotalCount()).isZero();
+		ArticleSearchResult result = articleSearchIndex.search("자바", 0, 10);
+		assertThat(result.getArticles()).extracting(Article::getMemberId).containsExactly("member1");
+	}
+	
+	@Test
+	void testUpdateNotIndexed() {
+		// given
+		
+		// when
+		articleSearchIndex.update(4L, "member3", "코틀린 입문", "코틀린 문법을 다룹니다.");
+		ArticleSearchResult result = articleSearchIndex.search("코틀린", 0, 10);
+		articleSearchIndex.removeByMemberId("member3");
+		
+		// then
+		assertThat(result.getArticles()).extracting(Article::getMemberId).containsExactly("member3");
+		assertThat(articleSearchIndex.search("코틀린", 0, 10).getTotalCount()).isZero();
+	}
+	
+	@Test
+	void testRemove() {
+		// given
+		
+		// when
+		articleSearchIndex.remove(1L);
+		articleSearchIndex.removeByMemberId("member2");
+		
+		// then
+		assertThat(articleSearchIndex.search("스프링", 0, 10).getTotalCount()).isZero();
+		assertThat(articleSearchIndex.search("java", 0, 10).getTotalCount()).isEqualTo(1);
+	}
+	
+	private Article article(Long id, String title, String content, String memberId) {
+		Article article = new Article();
+		article.setId(id);
+		article.setTitle(title);
+		article.setContent(content);
+		article.setMemberId(memberId);
+		return article;
+	}
+}
@@ -4,13 +4,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +21,8 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.demo.mapper.ArticleMapper;
 import com.example.demo.mapper.MemberMapper;
 import com.example.demo.model.Article;
+import com.example.demo.model.ArticlePage;
+import com.example.demo.model.ArticleSearchResult;
 import com.example.demo.model.Member;
 
 @SpringBootTest
@@ -27,6 +32,11 @@ class ArticleServiceTest {
 	@Autowired ArticleService articleService;
 	@Autowired ArticleMapper articleMapper;
 	@Autowired MemberMapper memberMapper;
+	@Autowired ArticleSearchIndex articleSearchIndex;
+	@Autowired TableVersions tableVersions;
+	@Autowired ArticleCounter articleCounter;
+	@Autowired ArticleViewCounter articleViewCounter;
+	@Autowired SqlSessionTemplate sqlSessionTemplate;
 
 	Member member;
 	Article article1;
@@ -58,6 +68,9 @@ class ArticleServiceTest {
 
 	@AfterEach
 	void tearDown() {
+		if (article1.getId() != null) {
+			articleSearchIndex.remove(article1.getId());
+		}
 		articleMapper.deleteAll();
 		memberMapper.deleteAll();
 	}
@@ -75,6 +88,59 @@ class ArticleServiceTest {
 		assertThat(foundArticles.size()).isEqualTo(2L);
 	}
 
+	@Test
+	void testStreamArticles() {
+		// given
+		articleMapper.save(article1);
+		articleMapper.save(article2);
+		List<Article> streamedArticles = new ArrayList<>();
+		
+		// when
+		articleService.streamArticles(streamedArticles::add);
+		
+		// then
+		assertThat(streamedArticles.size()).isEqualTo(2L);
+		assertThat(streamedArticles.get(0).getId()).isEqualTo(article1.getId());
+		assertThat(streamedArticles.get(1).getId()).isEqualTo(article2.getId());
+	}
+
+	@Test
+	void testFindArticlePage() {
+		// given
+		articleMapper.save(article1);
+		articleMapper.save(article2);
+		
+		// when
+		ArticlePage firstPage = articleService.findArticlePage(null, 1);
+		ArticlePage lastPage = articleService.findArticlePage(firstPage.getNextArticleId(), 1);
+		
+		// then
+		assertThat(firstPage.getArticles().size()).isEqualTo(1L);
+		assertThat(firstPage.getArticles().get(0).getId()).isEqualTo(article1.getId());
+		assertThat(firstPage.getNextArticleId()).isEqualTo(article1.getId());
+		assertThat(lastPage.getArticles().size()).isEqualTo(1L);
+		assertThat(lastPage.getArticles().get(0).getId()).isEqualTo(article2.getId());
+		assertThat(lastPage.hasNext()).isFalse();
+	}
+
+	@Test
+	void testSearchArticles() {
+		// given
+		Long articleId = articleService.createArticle("검색용 제목", "testcontent", member.getId());
+		ArticleSearchResult uncommitted = articleService.searchArticles("검색용", 0, 10);
+		article1.setTitle("검색용 제목");
+		articleMapper.save(article1);
+		
+		// when
+		articleSearchIndex.index(article1);
+		ArticleSearchResult result = articleService.searchArticles("검색용", 0, 10);
+		
+		// then
+		assertThat(uncommitted.getArticles()).extracting(Article::getId).doesNotContain(articleId);
+		assertThat(result.getArticles()).extracting(Article::getId).containsExactly(article1.getId());
+		assertThat(result.getTotalCount()).isEqualTo(1L);
+	}
+	
 	@Test
 	void testFindArticleById() {
 		// given
@@ -98,6 +164,28 @@ class ArticleServiceTest {
 		assertThat(foundArticleUpdatedAtNano).isEqualTo(article1UpdatedAtNano);
 	}
 	
+	@Test
+	void testFindArticleByIdViewCount() {
+		// given
+		articleMapper.save(article1);
+		
+		// when
+		articleService.findArticleById(article1.getId());
+		Article unflushed = articleService.findArticleById(article1.getId());
+		Article stored = articleMapper.findById(article1.getId()).get();
+		articleViewCounter.flush();
+		// flush 는 다른 SqlSession 으로 반영하므로 테스트 트랜잭션의 세션 캐시를 비웁니다.
+		sqlSessionTemplate.clearCache();
+		Article flushed = articleMapper.findById(article1.getId()).get();
+		Article foundArticle = articleService.findArticleById(article1.getId());
+		
+		// then
+		assertThat(unflushed.getViewCount()).isEqualTo(2L);
+		assertThat(stored.getViewCount()).isEqualTo(0L);
+		assertThat(flushed.getViewCount()).isEqualTo(2L);
+		assertThat(foundArticle.getViewCount()).isEqualTo(3L);
+	}
+	
 	@Test
 	void testFindArticleByIdVerifyArticleId() {
 		// given
@@ -110,6 +198,54 @@ class ArticleServiceTest {
 		assertThat(e.getMessage()).isEqualTo("아이디에 해당하는 게시글이 존재하지 않습니다.");
 	}
 
+	@Test
+	void testFindArticleByIdAsyncVerifyArticleId() {
+		// given
+		
+		// when
+		ExecutionException e = assertThrows(ExecutionException.class, ()
+				-> articleService.findArticleByIdAsync(Long.MAX_VALUE).get());
+		
+		// then
+		assertThat(e.getCause()).isInstanceOf(NoSuchElementException.class);
+	}
+	
+	@Test
+	void testFindArticleUpdatedAt() {
+		// given
+		articleMapper.save(article1);
+		
+		// when
+		Optional<LocalDateTime> updatedAt = articleService.findArticleUpdatedAt(article1.getId());
+		
+		// then
+		assertThat(updatedAt).isPresent();
+		assertThat(updatedAt.get()).isEqualTo(articleMapper.findById(article1.getId()).get().getUpdatedAt());
+		assertThat(articleService.findArticleUpdatedAt(Long.MAX_VALUE)).isEmpty();
+	}
+	
+	@Test
+	void testRecordArticleView() {
+		// given
+		articleMapper.save(article1);
+		
+		// when
+		articleService.recordArticleView(article1.getId());
+		Article foundArticle = articleService.findArticleById(article1.getId());
+		
+		// then
+		assertThat(foundArticle.getViewCount()).isEqualTo(2L);
+	}
+	
+	@Test
+	void testFindArticleUpdatedAtAsync() throws Exception {
+		// when
+		Optional<LocalDateTime> updatedAt = articleService.findArticleUpdatedAtAsync(Long.MAX_VALUE).get();
+		
+		// then
+		assertThat(updatedAt).isEmpty();
+	}
+	
 	@Test
 	void testFindArticleByMemberId() {
 		// given
@@ -135,6 +271,35 @@ class ArticleServiceTest {
 		assertThat(e.getMessage()).isEqualTo("아이디에 해당하는 회원이 존재하지 않습니다.");
 	}
 
+	@Test
+	void testFindArticlePageByMemberId() {
+		// given
+		articleMapper.save(article1);
+		articleMapper.save(article2);
+		
+		// when
+		ArticlePage firstPage = articleService.findArticlePageByMemberId(member.getId(), null, 1);
+		ArticlePage lastPage = articleService.findArticlePageByMemberId(member.getId(), firstPage.getNextArticleId(), 1);
+		
+		// then
+		assertThat(firstPage.getArticles().get(0).getId()).isEqualTo(article2.getId());
+		assertThat(firstPage.getNextArticleId()).isEqualTo(article2.getId());
+		assertThat(lastPage.getArticles().get(0).getId()).isEqualTo(article1.getId());
+		assertThat(lastPage.hasNext()).isFalse();
+	}
+	
+	@Test
+	void testFindArticlePageByMemberIdVerifyMemberId() {
+		// given
+		
+		// when
+		NoSuchElementException e = assertThrows(NoSuchElementException.class, ()
+				-> articleService.findArticlePageByMemberId("invalidid", null, 10));
+		
+		// then
+		assertThat(e.getMessage()).isEqualTo("아이디에 해당하는 회원이 존재하지 않습니다.");
+	}
+
 	@Test
 	void testCreateArticle() {
 		// given
@@ -152,6 +317,18 @@ class ArticleServiceTest {
 //		assertThat(foundArticle.getUpdatedAt()).isEqualTo(LocalDateTime.now());
 	}
 	
+	@Test
+	void testCreateArticleTableVersionAfterCommit() {
+		// given
+		String before = tableVersions.current(TableVersions.Table.ARTICLE);
+		
+		// when
+		articleService.createArticle("testtitle", "testcontent", member.getId());
+		
+		// then
+		assertThat(tableVersions.current(TableVersions.Table.ARTICLE)).isEqualTo(before);
+	}
+	
 	@Test
 	void testCreateArticleVerifyMemberId() {
 		// given
@@ -164,6 +341,63 @@ class ArticleServiceTest {
 		assertThat(e.getMessage()).isEqualTo("아이디에 해당하는 회원이 존재하지 않습니다.");
 	}
 	
+	@Test
+	void testCreateArticles() {
+		// given
+		List<Article> articles = new ArrayList<>();
+		for (int i = 0; i < 450; i++) {
+			Article article = new Article();
+			article.setTitle("testtitle" + i);
+			article.setContent("testcontent" + i);
+			article.setMemberId(member.getId());
+			articles.add(article);
+		}
+		
+		// when
+		List<Long> articleIds = articleService.createArticles(articles);
+		
+		// then
+		assertThat(articleIds.size()).isEqualTo(450L);
+		assertThat(articleIds).isSorted().doesNotHaveDuplicates();
+		Article firstArticle = articleMapper.findById(articleIds.get(0)).get();
+		Article lastArticle = articleMapper.findById(articleIds.get(449)).get();
+		assertThat(firstArticle.getTitle()).isEqualTo("testtitle0");
+		assertThat(lastArticle.getTitle()).isEqualTo("testtitle449");
+		assertThat(lastArticle.getMemberId()).isEqualTo(member.getId());
+	}
+	
+	@Test
+	void testArticleCounts() {
+		// given
+		long total = articleCounter.total();
+		
+		// when
+		Long articleId = articleService.createArticle("testtitle", "testcontent", member.getId());
+		articleService.createArticles(List.of(article1, article2));
+		ArticlePage created = articleService.findArticlePageByMemberId(member.getId(), null, 1);
+		articleService.deleteArticle(articleId);
+		ArticlePage deleted = articleService.findArticlePageByMemberId(member.getId(), null, 1);
+		
+		// then
+		assertThat(created.getTotalCount()).isEqualTo(3L);
+		assertThat(deleted.getTotalCount()).isEqualTo(2L);
+		assertThat(memberMapper.findById(member.getId()).get().getArticleCount()).isEqualTo(2L);
+		assertThat(articleService.findArticlePage(null, 1).getTotalCount()).isEqualTo(total + 2);
+	}
+	
+	@Test
+	void testCreateArticlesVerifyMemberId() {
+		// given
+		article2.setMemberId("invalidmemberid");
+		
+		// when
+		NoSuchElementException e = assertThrows(NoSuchElementException.class, ()
+				-> articleService.createArticles(List.of(article1, article2)));
+		
+		// then
+		assertThat(e.getMessage()).isEqualTo("아이디에 해당하는 회원이 존재하지 않습니다.");
+	}
+	
 	// Mockito 를 배워야 구현 가능
 //	@Test
 //	void testCreateArticleIllegalStateException() {
@@ -192,6 +426,18 @@ class ArticleServiceTest {
 //		assertThat(updatedArticle.getUpdatedAt()).isEqualTo(LocalDateTime.now());
 	}
 	
+	@Test
+	void testUpdateArticleVerifyArticleId() {
+		// given
+		
+		// when
+		NoSuchElementException e = assertThrows(NoSuchElementException.class, ()
+				-> articleService.updateArticle(99L, "fixedtitle", "fixedcontent"));
+		
+		// then
+		assertThat(e.getMessage()).isEqualTo("아이디에 해당하는 게시글이 존재하지 않습니다.");
+	}
+	
 	// Mockito 를 배워야 구현 가능
 //	@Test
 //	void testUpdateArticleIllegalStateException() {
@@ -216,6 +462,20 @@ class ArticleServiceTest {
 		assertThat(foundArticle).isEqualTo(Optional.empty());
 	}
 	
+	@Test
+	void testUpdateArticleOtherMember() {
+		// given
+		articleMapper.save(article1);
+		
+		// when
+		NoSuchElementException e = assertThrows(NoSuchElementException.class, ()
+				-> articleService.updateArticle(article1.getId(), "otherid", "fixedtitle", "fixedcontent"));
+		
+		// then
+		assertThat(e.getMessage()).isEqualTo("아이디에 해당하는 게시글이 존재하지 않습니다.");
+		assertThat(articleMapper.findById(article1.getId()).get().getTitle()).isEqualTo(article1.getTitle());
+	}
+	
 	@Test
 	void testDeleteArticleVerifyArticleId() {
 		// given
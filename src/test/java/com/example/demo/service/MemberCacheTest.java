@@ -0,0 +1,174 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.mapper.MemberMapper;
+import com.example.demo.model.Member;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@SpringBootTest
+@Transactional
+class MemberCacheTest {
+	
+	@Autowired MemberCache memberCache;
+	@Autowired MemberService memberService;
+	@Autowired MemberMapper memberMapper;
+	
+	Member member;
+	
+	@BeforeEach
+	void setUp() {
+		member = new Member();
+		member.setId("cacheid");
+		member.setPassword("testpassword");
+		member.setNickname("testnickname");
+		member.setAge(10L);
+		memberMapper.save(member);
+		memberCache.evict(member.getId());
+	}
+	
+	@AfterEach
+	void tearDown() {
+		memberMapper.deleteAll();
+		memberCache.evict(member.getId());
+	}
+
+	@Test
+	void testFind() {
+		// given
+		CacheStats before = memberCache.stats();
+		
+		// when
+		Member first = memberCache.find(member.getId()).get();
+		Member second = memberCache.find(member.getId()).get();
+		CacheStats after = memberCache.stats().minus(before);
+		
+		// then
+		assertThat(second).isSameAs(first);
+		assertThat(after.missCount()).isEqualTo(1L);
+		assertThat(after.hitCount()).isEqualTo(1L);
+	}
+	
+	@Test
+	void testFindDoesNotCacheAbsentMember() {
+		// given
+		
+		// when
+		Optional<Member> first = memberCache.find("lateid");
+		memberMapper.save(newMember("lateid"));
+		Optional<Member> second = memberCache.find("lateid");
+		memberCache.evict("lateid");
+		
+		// then
+		assertThat(first).isEqualTo(Optional.empty());
+		assertThat(second.isPresent()).isTrue();
+	}
+	
+	@Test
+	void testEvictOnUpdateMember() {
+		// given
+		memberCache.find(member.getId());
+		
+		// when
+		memberService.updateMember(member.getId(), "newpassword", "fixednickname", 20L);
+		Member foundMember = memberCache.find(member.getId()).get();
+		
+		// then
+		assertThat(foundMember.getNickname()).isEqualTo("fixednickname");
+		assertThat(foundMember.getAge()).isEqualTo(20L);
+	}
+	
+	@Test
+	void testAddArticleCountOnCommit() {
+		// given
+		Member first = memberCache.find(member.getId()).get();
+		CacheStats before = memberCache.stats();
+		
+		// when
+		complete(() -> memberCache.addArticleCount(member.getId(), 2L), TransactionSynchronization.STATUS_COMMITTED);
+		Member second = memberCache.find(member.getId()).get();
+		CacheStats after = memberCache.stats().minus(before);
+		
+		// then
+		assertThat(second.getArticleCount()).isEqualTo(2L);
+		assertThat(first.getArticleCount()).isEqualTo(0L);
+		assertThat(after.missCount()).isEqualTo(0L);
+		assertThat(after.hitCount()).isEqualTo(1L);
+	}
+	
+	@Test
+	void testKeepArticleCountOnRollback() {
+		// given
+		Member first = memberCache.find(member.getId()).get();
+		
+		// when
+		complete(() -> memberCache.addArticleCount(member.getId(), 2L), TransactionSynchronization.STATUS_ROLLED_BACK);
+		Member second = memberCache.find(member.getId()).get();
+		
+		// then
+		assertThat(second).isSameAs(first);
+	}
+	
+	@Test
+	void testEvictLoadedAfterAddArticleCount() {
+		// given
+		
+		// when
+		complete(() -> {
+			memberCache.addArticleCount(member.getId(), 2L);
+			memberCache.find(member.getId());
+		}, TransactionSynchronization.STATUS_COMMITTED);
+		CacheStats before = memberCache.stats();
+		Member foundMember = memberCache.find(member.getId()).get();
+		CacheStats after = memberCache.stats().minus(before);
+		
+		// then
+		assertThat(foundMember.getArticleCount()).isEqualTo(0L);
+		assertThat(after.missCount()).isEqualTo(1L);
+	}
+	
+	@Test
+	void testEvictOnDeleteMember() {
+		// given
+		memberCache.find(member.getId());
+		
+		// when
+		memberService.deleteMember(member.getId());
+		Optional<Member> foundMember = memberCache.find(member.getId());
+		
+		// then
+		assertThat(foundMember).isEqualTo(Optional.empty());
+	}
+	
+	/**
+	 * 테스트 트랜잭션은 롤백되므로, action 이 등록한 동기화만 골라 트랜잭션이 status 로 끝난 것처럼 호출합니다.
+	 */
+	private void complete(Runnable action, int status) {
+		List<TransactionSynchronization> registered = TransactionSynchronizationManager.getSynchronizations();
+		action.run();
+		List<TransactionSynchronization> added = new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+		added.removeAll(registered);
+		added.forEach(synchronization -> synchronization.afterCompletion(status));
+	}
+	
+	private Member newMember(String memberId) {
+		Member newMember = new Member();
+		newMember.setId(memberId);
+		newMember.setPassword("testpassword");
+		newMember.setNickname("testnickname");
+		return newMember;
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.mapper.MemberMapper;
+import com.example.demo.model.Member;
+
+@SpringBootTest
+@Transactional
+class MemberIdIndexTest {
+	
+	@Autowired MemberIdIndex memberIdIndex;
+	@Autowired MemberMapper memberMapper;
+	
+	Member member;
+	
+	@BeforeEach
+	void setUp() {
+		member = new Member();
+		member.setId("indexid");
+		member.setPassword("testpassword");
+		member.setNickname("testnickname");
+	}
+	
+	@AfterEach
+	void tearDown() {
+		memberMapper.deleteAll();
+	}
+
+	@Test
+	void testSaveAddsToIndex() {
+		// given
+		
+		// when
+		memberMapper.save(member);
+		
+		// then
+		assertThat(memberIdIndex.mightContain(member.getId())).isTrue();
+		assertThat(memberIdIndex.exists(member.getId())).isTrue();
+	}
+	
+	@Test
+	void testExistsDeletedMember() {
+		// given
+		memberMapper.save(member);
+		
+		// when
+		memberMapper.deleteById(member.getId());
+		
+		// then
+		assertThat(memberIdIndex.exists(member.getId())).isFalse();
+	}
+	
+	@Test
+	void testMightContainUnknownIds() {
+		// given
+		int falsePositives = 0;
+		
+		// when
+		for (int i = 0; i < 10000; i++) {
+			if (memberIdIndex.mightContain("unknown-" + i)) {
+				falsePositives++;
+			}
+		}
+		
+		// then
+		assertThat(falsePositives).isLessThan(300);
+	}
+}
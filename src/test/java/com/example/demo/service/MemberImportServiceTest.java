@@ -0,0 +1,114 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.mapper.MemberMapper;
+import com.example.demo.model.Member;
+import com.example.demo.model.MemberImportResult;
+import com.example.demo.model.MemberImportResult.Status;
+import com.example.demo.model.MemberImportSummary;
+import com.example.demo.service.MemberImportService.Format;
+
+@SpringBootTest
+@Transactional
+class MemberImportServiceTest {
+	
+	@Autowired MemberImportService memberImportService;
+	@Autowired MemberMapper memberMapper;
+	
+	List<MemberImportResult> results;
+	
+	@BeforeEach
+	void setUp() {
+		results = new ArrayList<>();
+		Member member = new Member();
+		member.setId("existingid");
+		member.setPassword("testpassword");
+		member.setNickname("testnickname");
+		memberMapper.save(member);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		memberMapper.deleteAll();
+	}
+
+	@Test
+	void testImportMembersCsv() throws IOException {
+		// given
+		String csv = String.join("\n",
+				"memberId,password,nickname,age",
+				"importid1,pw1,\"닉네임, 하나\",10",
+				"importid2,pw2,nickname2,",
+				"existingid,pw3,nickname3,30",
+				"importid1,pw4,nickname4,40",
+				"importid3,pw5",
+				"importid4,pw6,nickname6,notanumber");
+		
+		// when
+		MemberImportSummary summary = memberImportService.importMembers(reader(csv), Format.CSV, results::add);
+		
+		// then
+		assertThat(summary.getCreated()).isEqualTo(2L);
+		assertThat(summary.getDuplicates()).isEqualTo(2L);
+		assertThat(summary.getInvalid()).isEqualTo(2L);
+		assertThat(results).extracting(MemberImportResult::getLine).containsExactlyInAnyOrder(4L, 5L, 6L, 7L);
+		assertThat(memberMapper.findById("importid1").get().getNickname()).isEqualTo("닉네임, 하나");
+		assertThat(memberMapper.findById("importid2").get().getAge()).isNull();
+	}
+	
+	@Test
+	void testImportMembersNdjson() throws IOException {
+		// given
+		String ndjson = String.join("\n",
+				"{\"memberId\":\"importid1\",\"password\":\"pw1\",\"nickname\":\"nickname1\",\"age\":10}",
+				"{\"memberId\":\"existingid\",\"password\":\"pw2\",\"nickname\":\"nickname2\"}",
+				"{\"memberId\":\"importid3\",",
+				"{\"memberId\":\"importid4\",\"password\":\"pw4\"}");
+		
+		// when
+		MemberImportSummary summary = memberImportService.importMembers(reader(ndjson), Format.NDJSON, results::add);
+		
+		// then
+		assertThat(summary.getCreated()).isEqualTo(1L);
+		assertThat(summary.getDuplicates()).isEqualTo(1L);
+		assertThat(summary.getInvalid()).isEqualTo(2L);
+		assertThat(results).extracting(MemberImportResult::getStatus)
+				.containsExactly(Status.INVALID, Status.INVALID, Status.DUPLICATE);
+		assertThat(memberMapper.findById("importid1").get().getAge()).isEqualTo(10L);
+	}
+	
+	@Test
+	void testImportMembersAcrossBatches() throws IOException {
+		// given
+		StringBuilder csv = new StringBuilder();
+		for (int i = 0; i < 1200; i++) {
+			csv.append("bulkid").append(i % 1100).append(",pw,nickname\n");
+		}
+		
+		// when
+		MemberImportSummary summary = memberImportService.importMembers(reader(csv.toString()), Format.CSV, results::add);
+		
+		// then
+		assertThat(summary.getCreated()).isEqualTo(1100L);
+		assertThat(summary.getDuplicates()).isEqualTo(100L);
+		assertThat(summary.getInvalid()).isEqualTo(0L);
+	}
+	
+	private BufferedReader reader(String content) {
+		return new BufferedReader(new StringReader(content));
+	}
+}
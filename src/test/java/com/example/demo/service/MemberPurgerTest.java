@@ -0,0 +1,83 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.model.Article;
+
+@SpringBootTest(properties = {
+		"members.deletion.deferred-threshold=3",
+		"members.purge.chunk-size=2",
+		"members.purge.interval=PT1H"
+})
+@Transactional
+class MemberPurgerTest {
+	
+	@Autowired MemberService memberService;
+	@Autowired ArticleService articleService;
+	@Autowired MemberPurger memberPurger;
+	@Autowired JdbcTemplate jdbcTemplate;
+	
+	@Test
+	void testDeferredDeleteHidesThenPurgesInChunks() {
+		// given
+		memberService.createMember("purgeid", "testpassword", "testnickname", 20L);
+		memberService.createMember("keepid", "testpassword", "testnickname", 20L);
+		List<Long> articleIds = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			articleIds.add(articleService.createArticle("testtitle" + i, "testcontent", "purgeid"));
+		}
+		Long keptArticleId = articleService.createArticle("testtitle", "testcontent", "keepid");
+		long totalBefore = articleService.findArticlePage(null, 100).getTotalCount();
+		
+		// when
+		memberService.deleteMember("purgeid");
+		long firstChunk = memberPurger.purge();
+		
+		// then
+		assertThat(firstChunk).isEqualTo(2);
+		assertThrows(NoSuchElementException.class, () -> memberService.findMember("purgeid"));
+		assertThrows(NoSuchElementException.class, () -> articleService.findArticleById(articleIds.get(2)));
+		assertThat(articleService.findArticleUpdatedAt(articleIds.get(2))).isEmpty();
+		assertThrows(NoSuchElementException.class, () -> articleService.updateArticle(articleIds.get(2), "testtitle", "testcontent"));
+		assertThrows(NoSuchElementException.class, () -> articleService.deleteArticle(articleIds.get(2)));
+		assertThrows(NoSuchElementException.class, () -> memberService.deleteMember("purgeid"));
+		assertThrows(NoSuchElementException.class, () -> articleService.createArticle("testtitle", "testcontent", "purgeid"));
+		assertThat(articleService.findArticlePage(null, 100).getArticles()).extracting(Article::getMemberId).doesNotContain("purgeid");
+		assertThat(articleService.findArticlePage(null, 100).getTotalCount()).isEqualTo(totalBefore - 3);
+		assertThat(articleService.findArticleById(keptArticleId).getMemberId()).isEqualTo("keepid");
+		
+		// when
+		long secondChunk = memberPurger.purge();
+		
+		// then
+		assertThat(secondChunk).isEqualTo(1);
+		assertThat(memberPurger.isPurging("purgeid")).isFalse();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM member WHERE member_id = 'purgeid'", Long.class)).isEqualTo(0L);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM article WHERE member_id = 'purgeid'", Long.class)).isEqualTo(0L);
+	}
+	
+	@Test
+	void testDeleteSmallMemberImmediately() {
+		// given
+		memberService.createMember("smallid", "testpassword", "testnickname", 20L);
+		articleService.createArticle("testtitle", "testcontent", "smallid");
+		
+		// when
+		memberService.deleteMember("smallid");
+		
+		// then
+		assertThat(memberPurger.isPurging("smallid")).isFalse();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM member WHERE member_id = 'smallid'", Long.class)).isEqualTo(0L);
+	}
+}
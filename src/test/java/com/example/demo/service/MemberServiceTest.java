@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +25,8 @@ class MemberServiceTest {
 	
 	@Autowired MemberService memberService;
 	@Autowired MemberMapper memberMapper;
+	@Autowired ArticleService articleService;
+	@Autowired ArticleCounter articleCounter;
 
 	Member member1;
 	Member member2;
@@ -116,6 +119,21 @@ class MemberServiceTest {
 		assertThat(e.getMessage()).isEqualTo("이미 존재하는 아이디입니다.");
 	}
 	
+	@Test
+	void testCreateMembers() {
+		// given
+		memberMapper.save(member1);
+		
+		// when
+		Set<String> duplicateIds = memberService.createMembers(List.of(member1, member2));
+		Optional<Member> foundMember = memberMapper.findById(member2.getId());
+		
+		// then
+		assertThat(duplicateIds).containsExactly(member1.getId());
+		assertThat(foundMember.isPresent()).isTrue();
+		assertThat(foundMember.get().getNickname()).isEqualTo(member2.getNickname());
+	}
+	
 	// Mockito 를 배워야 구현 가능
 //	@Test
 //	void testCreateMemberIllegalStateException() {
@@ -178,6 +196,22 @@ class MemberServiceTest {
 		assertThat(foundMember).isEqualTo(Optional.empty());
 	}
 	
+	@Test
+	void testDeleteMemberArticleCount() {
+		// given
+		memberMapper.save(member1);
+		long total = articleCounter.total();
+		articleService.createArticle("testtitle1", "testcontent1", member1.getId());
+		articleService.createArticle("testtitle2", "testcontent2", member1.getId());
+		
+		// when
+		memberService.deleteMember(member1.getId());
+		
+		// then
+		assertThat(articleCounter.total()).isEqualTo(total);
+		assertThat(articleCounter.count(member1.getId())).isEqualTo(0L);
+	}
+	
 	@Test
 	void testDeleteMemberVerifyMemberId() {
 		// given
@@ -0,0 +1,56 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.service.TableVersions.Table;
+
+class TableVersionsTest {
+	
+	@Test
+	void testChangedOutsideTransaction() {
+		// given
+		List<Object> events = new ArrayList<>();
+		TableVersions tableVersions = new TableVersions(events::add);
+		String article = tableVersions.current(Table.ARTICLE);
+		String member = tableVersions.current(Table.MEMBER);
+		
+		// when
+		tableVersions.changed(Table.ARTICLE);
+		
+		// then
+		assertThat(tableVersions.current(Table.ARTICLE)).isNotEqualTo(article);
+		assertThat(tableVersions.current(Table.MEMBER)).isEqualTo(member);
+		assertThat(new TableVersions(events::add).current(Table.MEMBER)).isNotEqualTo(member);
+		assertThat(events).hasSize(1);
+		assertThat(((TableChangedEvent) events.get(0)).getTable()).isEqualTo(Table.ARTICLE);
+	}
+	
+	@Test
+	void testSettledAfterReplicaMaxLag() throws InterruptedException {
+		// given
+		TableVersions tableVersions = new TableVersions(event -> {}, Duration.ofMillis(200));
+		assertThat(tableVersions.settled(Table.ARTICLE)).isTrue();
+		
+		// when
+		tableVersions.changed(Table.ARTICLE);
+		
+		// then
+		assertThat(tableVersions.settled(Table.ARTICLE)).isFalse();
+		assertThat(tableVersions.settled(Table.MEMBER)).isTrue();
+		assertThat(tableVersions.settled(Table.MEMBER, Table.ARTICLE)).isFalse();
+		assertThat(tableVersions.nanosUntilSettled(Table.ARTICLE)).isPositive();
+		
+		// when
+		Thread.sleep(250);
+		
+		// then
+		assertThat(tableVersions.settled(Table.ARTICLE)).isTrue();
+		assertThat(tableVersions.nanosUntilSettled(Table.ARTICLE)).isZero();
+	}
+}
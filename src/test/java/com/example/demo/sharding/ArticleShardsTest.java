@@ -0,0 +1,167 @@
+package com.example.demo.sharding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.model.Article;
+import com.example.demo.service.ArticleService;
+import com.example.demo.service.ArticleViewCounter;
+import com.example.demo.service.MemberService;
+
+/**
+ * 파일 H2 샤드 두 개로 애플리케이션을 띄우고, 서비스의 트랜잭션이 샤드까지 커밋/롤백되는지 확인합니다.
+ */
+@SpringBootTest(properties = {
+		"articles.sharding.urls=jdbc:h2:file:./target/shards/app-0;DB_CLOSE_DELAY=-1,jdbc:h2:file:./target/shards/app-1;DB_CLOSE_DELAY=-1",
+		"articles.views.flush-interval=PT1H"
+})
+class ArticleShardsTest {
+	
+	@Autowired ArticleShards articleShards;
+	@Autowired ArticleService articleService;
+	@Autowired MemberService memberService;
+	@Autowired ArticleViewCounter articleViewCounter;
+	@Autowired PlatformTransactionManager transactionManager;
+	
+	/**
+	 * memberIds.get(i) 의 게시글은 i 번 샤드에 저장됩니다.
+	 */
+	List<String> memberIds;
+	
+	@BeforeEach
+	void setUp() {
+		memberIds = new ArrayList<>(List.of("", ""));
+		for (int i = 0; memberIds.contains(""); i++) {
+			String memberId = "shardtestid" + i;
+			int shard = articleShards.shardOfMember(memberId).getIndex();
+			if (memberIds.get(shard).isEmpty()) {
+				memberIds.set(shard, memberId);
+			}
+		}
+		// 중단된 이전 실행이 남긴 데이터를 지웁니다.
+		tearDown();
+		for (String memberId : memberIds) {
+			memberService.createMember(memberId, "testpassword", "testnickname", 20L);
+		}
+	}
+	
+	@AfterEach
+	void tearDown() {
+		for (String memberId : memberIds) {
+			try {
+				memberService.deleteMember(memberId);
+			} catch (NoSuchElementException e) {
+				// 테스트에서 이미 삭제했습니다.
+			}
+			articleShards.shardOfMember(memberId).getArticleMapper().deleteByMemberId(memberId);
+		}
+	}
+	
+	@Test
+	void testCreateArticlesPerShard() {
+		// given
+		List<Article> articles = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			Article article = new Article();
+			article.setTitle("testtitle" + i);
+			article.setContent("testcontent" + i);
+			article.setMemberId(memberIds.get(i % 2));
+			articles.add(article);
+		}
+		
+		// when
+		List<Long> articleIds = articleService.createArticles(articles);
+		
+		// then
+		for (int shard = 0; shard < 2; shard++) {
+			ArticleMapperOfShard mapper = new ArticleMapperOfShard(shard);
+			assertThat(mapper.findByMemberId(memberIds.get(shard))).hasSize(3);
+			assertThat(mapper.findByMemberId(memberIds.get(1 - shard))).isEmpty();
+		}
+		assertThat(articleIds).allSatisfy(articleId -> assertThat(articleService.findArticleById(articleId)).isNotNull());
+		assertThat(articleService.findArticlePageByMemberId(memberIds.get(1), null, 10).getArticles()).hasSize(3);
+	}
+	
+	@Test
+	void testDeleteMemberDeletesShardArticles() {
+		// given
+		articleService.createArticle("testtitle", "testcontent", memberIds.get(0));
+		articleService.createArticle("testtitle", "testcontent", memberIds.get(1));
+		
+		// when
+		memberService.deleteMember(memberIds.get(0));
+		
+		// then
+		assertThat(new ArticleMapperOfShard(0).findByMemberId(memberIds.get(0))).isEmpty();
+		assertThat(new ArticleMapperOfShard(1).findByMemberId(memberIds.get(1))).hasSize(1);
+	}
+	
+	@Test
+	void testFlushViewCountsPerShard() {
+		// given
+		Long first = articleService.createArticle("testtitle", "testcontent", memberIds.get(0));
+		Long second = articleService.createArticle("testtitle", "testcontent", memberIds.get(1));
+		articleService.findArticleById(first);
+		articleService.findArticleById(second);
+		articleService.findArticleById(second);
+		
+		// when
+		articleViewCounter.flush();
+		
+		// then
+		assertThat(new ArticleMapperOfShard(0).findById(first).getViewCount()).isEqualTo(1L);
+		assertThat(new ArticleMapperOfShard(1).findById(second).getViewCount()).isEqualTo(2L);
+		assertThat(articleViewCounter.pending(first)).isZero();
+		assertThat(articleViewCounter.pending(second)).isZero();
+	}
+	
+	@Test
+	void testCommitAndRollbackShardWrites() {
+		// given
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		
+		// when
+		Long committed = transactionTemplate.execute(status -> articleService.createArticle("committed", "testcontent", memberIds.get(1)));
+		assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+			articleService.createArticle("rolledback", "testcontent", memberIds.get(1));
+			throw new IllegalStateException("rollback");
+		}));
+		
+		// then
+		List<Article> articles = new ArticleMapperOfShard(1).findByMemberId(memberIds.get(1));
+		assertThat(articles).extracting(Article::getId).containsExactly(committed);
+		assertThat(memberService.findMember(memberIds.get(1)).getArticleCount()).isEqualTo(1L);
+	}
+	
+	/**
+	 * 샤드 DB 를 직접 조회합니다. (ShardedArticleMapper 를 거치지 않습니다.)
+	 */
+	private class ArticleMapperOfShard {
+		
+		private final Shard shard;
+		
+		private ArticleMapperOfShard(int index) {
+			this.shard = articleShards.shards().get(index);
+		}
+		
+		List<Article> findByMemberId(String memberId) {
+			return shard.getArticleMapper().findByMemberId(memberId);
+		}
+		
+		Article findById(Long articleId) {
+			return shard.getArticleMapper().findById(articleId).orElseThrow();
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package com.example.demo.sharding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.model.Article;
+
+class ShardedArticleMapperTest {
+	
+	@Test
+	void testSaveRoutesByMember() {
+		// given
+		List<DataSource> dataSources = databases("routing", 3);
+		ArticleShards articleShards = open(dataSources, 3);
+		ShardedArticleMapper articleMapper = new ShardedArticleMapper(articleShards, null);
+		
+		// when
+		List<Article> saved = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			Article article = article("member" + (i % 10));
+			articleMapper.save(article);
+			saved.add(article);
+		}
+		
+		// then
+		for (Article article : saved) {
+			int bucket = ShardRouter.bucketOf(article.getMemberId());
+			Shard shard = articleShards.shards().get(ShardRouter.shardOf(bucket, 3));
+			assertThat(ShardRouter.bucketOfArticle(article.getId())).isEqualTo(bucket);
+			assertThat(shard.getArticleMapper().findById(article.getId())).isPresent();
+			assertThat(articleMapper.findById(article.getId()).get().getMemberId()).isEqualTo(article.getMemberId());
+		}
+		assertThat(articleShards.shards()).allSatisfy(shard -> assertThat(shard.getArticleMapper().findAll()).isNotEmpty());
+		assertThat(articleMapper.findByMemberId("member3")).hasSize(3);
+		assertThat(articleMapper.deleteByMemberId("member3")).isEqualTo(3L);
+		assertThat(articleMapper.findAll()).hasSize(27);
+	}
+	
+	@Test
+	void testFindPageMergesShards() {
+		// given
+		ArticleShards articleShards = open(databases("paging", 3), 3);
+		ShardedArticleMapper articleMapper = new ShardedArticleMapper(articleShards, null);
+		for (int i = 0; i < 40; i++) {
+			articleMapper.save(article("member" + (i % 13)));
+		}
+		
+		// when
+		List<Long> paged = new ArrayList<>();
+		List<Article> page = articleMapper.findPage(null, 7);
+		while (!page.isEmpty()) {
+			assertThat(page.size()).isLessThanOrEqualTo(7);
+			page.forEach(article -> paged.add(article.getId()));
+			page = articleMapper.findPage(page.get(page.size() - 1).getId(), 7);
+		}
+		List<Long> streamed = new ArrayList<>();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(
+				new DataSourceTransactionManager(databases("paging-primary", 1).get(0)));
+		transactionTemplate.setReadOnly(true);
+		transactionTemplate.executeWithoutResult(status -> {
+			try (Cursor<Article> cursor = articleMapper.streamAll()) {
+				cursor.forEach(article -> streamed.add(article.getId()));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		
+		// then
+		assertThat(paged).hasSize(40).isSorted().doesNotHaveDuplicates();
+		assertThat(streamed).isEqualTo(paged);
+		assertThat(articleMapper.findAll()).extracting(Article::getId).isEqualTo(paged);
+	}
+	
+	@Test
+	void testRebalance() {
+		// given
+		List<DataSource> dataSources = databases("rebalance", 3);
+		ShardedArticleMapper before = new ShardedArticleMapper(open(dataSources, 2), null);
+		List<Article> saved = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			Article article = article("member" + i);
+			before.save(article);
+			saved.add(article);
+		}
+		
+		// when
+		long moved = new ShardRebalancer(dataSources).rebalance(2, 3);
+		ArticleShards articleShards = open(dataSources, 3);
+		ShardedArticleMapper after = new ShardedArticleMapper(articleShards, null);
+		
+		// then
+		assertThat(moved).isPositive();
+		assertThat(articleShards.shards().get(2).getArticleMapper().findAll()).hasSize((int) moved);
+		for (Article article : saved) {
+			assertThat(after.findById(article.getId())).isPresent();
+			assertThat(after.findByMemberId(article.getMemberId())).hasSize(1);
+		}
+		assertThat(after.findAll()).hasSize(50);
+		Article next = article("member0");
+		after.save(next);
+		assertThat(after.findAll()).extracting(Article::getId).doesNotHaveDuplicates().hasSize(51);
+	}
+	
+	@Test
+	void testShardJoinsTransaction() {
+		// given
+		ArticleShards articleShards = open(databases("transaction", 2), 2);
+		ShardedArticleMapper articleMapper = new ShardedArticleMapper(articleShards, null);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(
+				new DataSourceTransactionManager(databases("transaction-primary", 1).get(0)));
+		
+		// when
+		transactionTemplate.executeWithoutResult(status -> {
+			articleMapper.save(article("kept"));
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			articleMapper.save(article("rolledBack"));
+			status.setRollbackOnly();
+		});
+		
+		// then
+		assertThat(articleMapper.findByMemberId("kept")).hasSize(1);
+		assertThat(articleMapper.findByMemberId("rolledBack")).isEmpty();
+	}
+	
+	@Test
+	void testUpdateRejectsMemberOfOtherShard() {
+		// given
+		ArticleShards articleShards = open(databases("update", 2), 2);
+		ShardedArticleMapper articleMapper = new ShardedArticleMapper(articleShards, null);
+		Article article = article("member0");
+		articleMapper.save(article);
+		String otherMemberId = "member1";
+		for (int i = 2; ShardRouter.bucketOf(otherMemberId) == ShardRouter.bucketOf("member0"); i++) {
+			otherMemberId = "member" + i;
+		}
+		
+		// when
+		article.setMemberId(otherMemberId);
+		
+		// then
+		assertThrows(IllegalArgumentException.class, () -> articleMapper.update(article));
+	}
+	
+	private static ArticleShards open(List<DataSource> dataSources, int count) {
+		List<Shard> shards = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			shards.add(Shard.open(i, dataSources.get(i)));
+		}
+		return new ArticleShards(null, shards);
+	}
+	
+	private static List<DataSource> databases(String name, int count) {
+		List<DataSource> dataSources = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			JdbcDataSource dataSource = new JdbcDataSource();
+			dataSource.setURL("jdbc:h2:file:./target/shards/" + name + "-" + i + ";DB_CLOSE_DELAY=-1");
+			dataSource.setUser("sa");
+			try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+				statement.execute("DROP ALL OBJECTS");
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+			dataSources.add(dataSource);
+		}
+		return dataSources;
+	}
+	
+	private static Article article(String memberId) {
+		Article article = new Article();
+		article.setTitle("title of " + memberId);
+		article.setContent("content");
+		article.setCreatedAt(LocalDateTime.now());
+		article.setUpdatedAt(LocalDateTime.now());
+		article.setMemberId(memberId);
+		return article;
+	}
+}